@@ -2,60 +2,172 @@ package com.api;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.utils.LogPolicy;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.http.Header;
 import io.restassured.http.Headers;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class APIClientManager {
     private static final Logger log = LogManager.getLogger(APIClientManager.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Map<String, RequestSpecification> requestSpecs = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
 
     public static void setBaseURI(String baseURI) {
         log.info("Setting {} base URI for RestAssured", baseURI);
         RestAssured.baseURI = baseURI;
     }
 
+    /**
+     * Reconfigures the shared HTTP connection pool, open connections of the previous pool are closed
+     */
+    public static void configureConnectionPool(int maxTotal, int maxPerRoute, long keepAliveMs, long idleTimeoutMs) {
+        HttpConnectionPool.configure(maxTotal, maxPerRoute, keepAliveMs, idleTimeoutMs);
+        requestSpecs.clear();
+    }
+
+    public static void closeConnectionPool() {
+        HttpConnectionPool.shutdown();
+        requestSpecs.clear();
+    }
+
+    /**
+     * Request specification per base URI bound to the shared connection pool
+     */
+    private static RequestSpecification getRequestSpec(String baseURI, long timeoutMs) {
+        return requestSpecs.computeIfAbsent(timeoutMs + " " + baseURI, key -> new RequestSpecBuilder()
+                .setBaseUri(baseURI)
+                .setConfig(HttpConnectionPool.getConfig(timeoutMs))
+                .build());
+    }
+
     public static <T, R> APIResponseModel<R> sendRequest(APIRequestModel<T> requestModel, Class<R> responseClass) {
-        log.info("Sending {} request", requestModel.getRequestType());
+        return sendRequest(requestModel, responseClass, 0);
+    }
+
+    /**
+     * Sends the request with connect, pooled connection and socket read timeouts of timeoutMs, 0 waits indefinitely
+     */
+    static <T, R> APIResponseModel<R> sendRequest(APIRequestModel<T> requestModel, Class<R> responseClass, long timeoutMs) {
+        log.debug("Sending {} request to {}", requestModel.getRequestType(), requestModel.getEndPoints());
         try {
-            String requestBodyJson = objectMapper.writeValueAsString(requestModel.getRequestBody());
-            log.info("Request body JSON which will be sent is: {}", requestBodyJson);
-            ContentType contentType = getContentType(requestBodyJson);
-            log.info("Content type which will be used is: {}", contentType);
-            var requestSpec = RestAssured.given();
+            String baseURI = requestModel.getBaseURI() != null ? requestModel.getBaseURI() : RestAssured.baseURI;
+            var requestSpec = RestAssured.given().spec(getRequestSpec(baseURI, timeoutMs));
             if (requestModel.getHeaders() != null && !requestModel.getHeaders().isEmpty()) {
-                log.info("Request headers which will be sent is: {}", requestModel.getHeaders());
+                log.debug("Request headers which will be sent is: {}", requestModel.getHeaders());
                 requestSpec.headers(requestModel.getHeaders());
             }
-            requestSpec.contentType(contentType).body(requestBodyJson);
+            T requestBody = requestModel.getRequestBody();
+            if (requestBody != null) {
+                byte[] requestBodyBytes = getRequestBodyBytes(requestBody, requestModel.getContentType());
+                ContentType contentType = requestModel.getContentType() != null ? requestModel.getContentType() : getContentType(requestBodyBytes);
+                if (log.isDebugEnabled())
+                    log.debug("Sending {} bytes request body with {} content type", requestBodyBytes.length, contentType);
+                if (LogPolicy.isBodyLogged(log))
+                    log.debug("Request body which will be sent is: {}", LogPolicy.truncate(requestBodyBytes));
+                requestSpec.contentType(contentType).body(requestBodyBytes);
+            }
             Response response = requestSpec.request(String.valueOf(requestModel.getRequestType()), requestModel.getEndPoints());
-            log.info("Raw response body is: {}", response);
             int statusCode = response.getStatusCode();
-            log.info("Response status code is: {}", statusCode);
             String message = response.getStatusLine();
-            log.info("Response status message is: {}", message);
+            log.debug("Response status is: {}", message);
             Map<String, String> responseHeaders = getResponseHeaders(response.getHeaders());
-            log.info("Response headers is: {}", message);
-            R responseBody = objectMapper.readValue(response.getBody().asString(), responseClass);
-            log.info("Parsed response body is: {}", message);
+            if (log.isDebugEnabled())
+                log.debug("Response headers is: {}", responseHeaders);
+            if (LogPolicy.isBodyLogged(log))
+                log.debug("Raw response body is: {}", LogPolicy.truncate(response.getBody().asString()));
+            R responseBody = readResponseBody(response, responseClass);
+            log.debug("Parsed response body into {}", responseClass.getSimpleName());
             return new APIResponseModel<>(statusCode, message, responseBody, responseHeaders);
         } catch (JsonProcessingException e) {
-            log.error("Error processing request body: " + e.getMessage(), e);
+            log.error("Error processing request body: {}", e.getMessage(), e);
             return new APIResponseModel<>(500, "Error processing request body: " + e.getMessage());
         } catch (Exception e) {
-            log.error("Error processing request: " + e.getMessage(), e);
+            log.error("Error processing request: {}", e.getMessage(), e);
             return new APIResponseModel<>(500, "Error processing request: " + e.getMessage());
         }
     }
 
-    private static ContentType getContentType(String requestBodyJson) {
-        if (requestBodyJson.startsWith("{") || requestBodyJson.startsWith("["))
+    /**
+     * Raw String and byte[] bodies are sent as-is for an explicit non JSON content type, everything else is serialised by Jackson
+     */
+    private static byte[] getRequestBodyBytes(Object requestBody, ContentType contentType) throws JsonProcessingException {
+        if (contentType != null && contentType != ContentType.JSON) {
+            if (requestBody instanceof byte[])
+                return (byte[]) requestBody;
+            if (requestBody instanceof String)
+                return ((String) requestBody).getBytes(StandardCharsets.UTF_8);
+        }
+        return getWriter(requestBody.getClass()).writeValueAsBytes(requestBody);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R readResponseBody(Response response, Class<R> responseClass) throws IOException {
+        if (responseClass == String.class)
+            return (R) response.getBody().asString();
+        if (responseClass == byte[].class)
+            return (R) response.getBody().asByteArray();
+        try (InputStream responseStream = response.getBody().asInputStream()) {
+            return getReader(responseClass).readValue(responseStream);
+        }
+    }
+
+    private static ObjectWriter getWriter(Class<?> bodyClass) {
+        return writers.computeIfAbsent(bodyClass, objectMapper::writerFor);
+    }
+
+    private static ObjectReader getReader(Class<?> responseClass) {
+        return readers.computeIfAbsent(responseClass, objectMapper::readerFor);
+    }
+
+    public static <T, R> CompletableFuture<APIResponseModel<R>> sendRequestAsync(APIRequestModel<T> requestModel, Class<R> responseClass) {
+        return AsyncRequestDispatcher.dispatch(List.of(requestModel), responseClass, new DispatchSettings()).get(0);
+    }
+
+    /**
+     * Sends all requests concurrently, futures are returned in the same order as the requests
+     */
+    public static <T, R> List<CompletableFuture<APIResponseModel<R>>> sendRequestsAsync(Collection<? extends APIRequestModel<T>> requestModels,
+                                                                                       Class<R> responseClass, DispatchSettings settings) {
+        return AsyncRequestDispatcher.dispatch(requestModels, responseClass, settings);
+    }
+
+    /**
+     * Sends all requests concurrently and completes once every response is available, in request order
+     */
+    public static <T, R> CompletableFuture<List<APIResponseModel<R>>> sendAllRequests(Collection<? extends APIRequestModel<T>> requestModels,
+                                                                                     Class<R> responseClass, DispatchSettings settings) {
+        List<CompletableFuture<APIResponseModel<R>>> futures = sendRequestsAsync(requestModels, responseClass, settings);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<APIResponseModel<R>> responses = new ArrayList<>(futures.size());
+            for (CompletableFuture<APIResponseModel<R>> future : futures) {
+                responses.add(future.join());
+            }
+            return responses;
+        });
+    }
+
+    private static ContentType getContentType(byte[] requestBodyJson) {
+        if (requestBodyJson.length > 0 && (requestBodyJson[0] == '{' || requestBodyJson[0] == '['))
             return ContentType.JSON;
         return ContentType.ANY;
     }
@@ -1,11 +1,14 @@
 package com.api;
 
 import com.enums.RequestType;
+import io.restassured.http.ContentType;
 import java.util.Map;
 
 public class APIRequestModel<body> {
     private final RequestType requestType;
     private final String endPoints;
+    private String baseURI;
+    private ContentType contentType;
     private body requestBody;
     private Map<String, String> headers;
 
@@ -22,6 +25,17 @@ public class APIRequestModel<body> {
         return endPoints;
     }
 
+    /**
+     * Overrides the base URI set with APIClientManager.setBaseURI for this request
+     */
+    public void setBaseURI(String baseURI) {
+        this.baseURI = baseURI;
+    }
+
+    public String getBaseURI() {
+        return baseURI;
+    }
+
     public void setRequestBody(body requestBody) {
         this.requestBody = requestBody;
     }
@@ -30,6 +44,17 @@ public class APIRequestModel<body> {
         return requestBody;
     }
 
+    /**
+     * Declares the request body content type, otherwise it is detected from the serialised body
+     */
+    public void setContentType(ContentType contentType) {
+        this.contentType = contentType;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
     public void setHeaders(Map<String, String> headers) {
         this.headers = headers;
     }
@@ -0,0 +1,124 @@
+package com.api;
+
+import com.utils.ThreadUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dispatches APIClientManager requests concurrently with bounded concurrency, per request timeout and rate limit
+ */
+public class AsyncRequestDispatcher {
+    private static final Logger log = LogManager.getLogger(AsyncRequestDispatcher.class);
+    private static final int DEFAULT_PLATFORM_THREADS = 64;
+    private static final int TIMEOUT_STATUS_CODE = 408;
+    private static volatile ExecutorService executor;
+
+    static <T, R> List<CompletableFuture<APIResponseModel<R>>> dispatch(Collection<? extends APIRequestModel<T>> requestModels,
+                                                                       Class<R> responseClass, DispatchSettings settings) {
+        log.info("Dispatching {} requests with max concurrency {}", requestModels.size(), settings.getMaxConcurrency());
+        Semaphore permits = new Semaphore(settings.getMaxConcurrency());
+        RateLimiter rateLimiter = settings.getRequestsPerSecond() > 0 ? new RateLimiter(settings.getRequestsPerSecond()) : null;
+        List<CompletableFuture<APIResponseModel<R>>> futures = new ArrayList<>(requestModels.size());
+        ExecutorService service = getExecutor();
+        for (APIRequestModel<T> requestModel : requestModels) {
+            CompletableFuture<APIResponseModel<R>> future = new CompletableFuture<>();
+            futures.add(future);
+            DispatchTask task = new DispatchTask(future, () -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                try {
+                    if (rateLimiter != null)
+                        rateLimiter.acquire();
+                    if (settings.getTimeoutMs() > 0) {
+                        // Timer starts once the request is actually dispatched, not while it is queued
+                        future.completeOnTimeout(new APIResponseModel<>(TIMEOUT_STATUS_CODE,
+                                "Request timed out after " + settings.getTimeoutMs() + " ms"), settings.getTimeoutMs(), TimeUnit.MILLISECONDS);
+                    }
+                    // The same timeout bounds the connection itself, so the permit and thread are freed as well
+                    future.complete(APIClientManager.sendRequest(requestModel, responseClass, settings.getTimeoutMs()));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                }
+            });
+            try {
+                service.execute(task);
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+        }
+        return futures;
+    }
+
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (AsyncRequestDispatcher.class) {
+                if (executor == null)
+                    executor = ThreadUtils.newTaskExecutor("api-async", DEFAULT_PLATFORM_THREADS);
+            }
+        }
+        return executor;
+    }
+
+    public static void shutdown() {
+        ExecutorService service;
+        synchronized (AsyncRequestDispatcher.class) {
+            service = executor;
+            executor = null;
+        }
+        if (service != null) {
+            List<Runnable> pending = service.shutdownNow();
+            for (Runnable runnable : pending) {
+                if (runnable instanceof DispatchTask)
+                    ((DispatchTask) runnable).future.completeExceptionally(new CancellationException("Async request dispatcher shut down"));
+            }
+            log.info("Async request dispatcher shut down, {} queued requests cancelled", pending.size());
+        }
+    }
+
+    private static class DispatchTask implements Runnable {
+        private final CompletableFuture<?> future;
+        private final Runnable request;
+
+        private DispatchTask(CompletableFuture<?> future, Runnable request) {
+            this.future = future;
+            this.request = request;
+        }
+
+        @Override
+        public void run() {
+            request.run();
+        }
+    }
+
+    private static class RateLimiter {
+        private final long intervalNanos;
+        private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+        private RateLimiter(double requestsPerSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        }
+
+        private void acquire() {
+            long now = System.nanoTime();
+            long slot = Math.max(nextSlot.getAndAccumulate(now, (next, current) -> Math.max(next, current) + intervalNanos), now);
+            long wait = slot - now;
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                wait = slot - System.nanoTime();
+            }
+        }
+    }
+}
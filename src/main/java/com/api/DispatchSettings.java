@@ -0,0 +1,52 @@
+package com.api;
+
+public class DispatchSettings {
+    private int maxConcurrency = 50;
+    private long timeoutMs = 30000;
+    private double requestsPerSecond = 0;
+
+    /**
+     * Maximum number of requests in flight at once
+     */
+    public DispatchSettings setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be a positive value");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Time allowed for each request once it is dispatched, 0 waits indefinitely
+     */
+    public DispatchSettings setTimeoutMs(long timeoutMs) {
+        if (timeoutMs < 0) {
+            throw new IllegalArgumentException("timeoutMs must be a non-negative value");
+        }
+        this.timeoutMs = timeoutMs;
+        return this;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * Upper bound on dispatched requests per second, 0 disables rate limiting
+     */
+    public DispatchSettings setRequestsPerSecond(double requestsPerSecond) {
+        if (requestsPerSecond < 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be a non-negative value");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        return this;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+}
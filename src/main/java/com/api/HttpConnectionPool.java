@@ -0,0 +1,136 @@
+package com.api;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared keep-alive connection pool behind every RestAssured request sent by APIClientManager
+ */
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+    private static final Logger log = LogManager.getLogger(HttpConnectionPool.class);
+    private static int maxTotal = 100;
+    private static int maxPerRoute = 20;
+    private static long keepAliveMs = 30000;
+    private static long idleTimeoutMs = 60000;
+    private static PoolingClientConnectionManager connectionManager;
+    private static RestAssuredConfig config;
+    private static final Map<Long, RestAssuredConfig> timeoutConfigs = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService evictor;
+
+    static synchronized void configure(int maxTotal, int maxPerRoute, long keepAliveMs, long idleTimeoutMs) {
+        if (maxTotal <= 0 || maxPerRoute <= 0) {
+            throw new IllegalArgumentException("maxTotal and maxPerRoute must be positive values");
+        }
+        if (keepAliveMs <= 0 || idleTimeoutMs <= 0) {
+            throw new IllegalArgumentException("keepAliveMs and idleTimeoutMs must be positive values");
+        }
+        shutdown();
+        HttpConnectionPool.maxTotal = maxTotal;
+        HttpConnectionPool.maxPerRoute = maxPerRoute;
+        HttpConnectionPool.keepAliveMs = keepAliveMs;
+        HttpConnectionPool.idleTimeoutMs = idleTimeoutMs;
+        log.info("HTTP connection pool configured with max {} connections, {} per route, {} ms keep alive, {} ms idle timeout",
+                maxTotal, maxPerRoute, keepAliveMs, idleTimeoutMs);
+    }
+
+    static synchronized RestAssuredConfig getConfig() {
+        if (config == null) {
+            connectionManager = new PoolingClientConnectionManager();
+            connectionManager.setMaxTotal(maxTotal);
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+            PoolingClientConnectionManager manager = connectionManager;
+            config = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                    .reuseHttpClientInstance()
+                    .httpClientFactory(() -> createHttpClient(manager)));
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "http-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1000, idleTimeoutMs / 2);
+            evictor.scheduleAtFixedRate(() -> {
+                manager.closeExpiredConnections();
+                manager.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+            }, period, period, TimeUnit.MILLISECONDS);
+            log.info("HTTP connection pool initialized");
+        }
+        return config;
+    }
+
+    /**
+     * Config sharing the pooled connections whose client bounds connecting, waiting for a pooled connection and
+     * every socket read by the timeout, so a stuck endpoint releases its caller instead of holding it indefinitely
+     */
+    static synchronized RestAssuredConfig getConfig(long timeoutMs) {
+        if (timeoutMs <= 0)
+            return getConfig();
+        getConfig();
+        PoolingClientConnectionManager manager = connectionManager;
+        return timeoutConfigs.computeIfAbsent(timeoutMs, timeout -> RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> {
+                    DefaultHttpClient httpClient = createHttpClient(manager);
+                    httpClient.getParams().setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, (int) Math.min(timeout, Integer.MAX_VALUE));
+                    httpClient.getParams().setIntParameter(CoreConnectionPNames.SO_TIMEOUT, (int) Math.min(timeout, Integer.MAX_VALUE));
+                    httpClient.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, timeout);
+                    return httpClient;
+                })));
+    }
+
+    private static DefaultHttpClient createHttpClient(PoolingClientConnectionManager manager) {
+        DefaultHttpClient httpClient = new DefaultHttpClient(manager);
+        long defaultKeepAliveMs = keepAliveMs;
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            BasicHeaderElementIterator iterator = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (iterator.hasNext()) {
+                HeaderElement element = iterator.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(Long.parseLong(element.getValue()) * 1000, defaultKeepAliveMs);
+                    } catch (NumberFormatException ignored) {
+                        break;
+                    }
+                }
+            }
+            return defaultKeepAliveMs;
+        });
+        return httpClient;
+    }
+
+    /**
+     * Leased, pending, available and max connections across all routes, null before the first request
+     */
+    public static synchronized PoolStats getStats() {
+        return connectionManager != null ? connectionManager.getTotalStats() : null;
+    }
+
+    public static synchronized void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        if (connectionManager != null) {
+            log.info("Shutting down HTTP connection pool: {}", connectionManager.getTotalStats());
+            connectionManager.shutdown();
+            connectionManager = null;
+        }
+        config = null;
+        timeoutConfigs.clear();
+    }
+}
@@ -0,0 +1,163 @@
+package com.database;
+
+import com.utils.ThreadUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs DB work off the calling thread, bounded per datasource by the connection pool size.
+ * Uses virtual threads when the runtime supports them, otherwise a fixed daemon thread pool.
+ */
+public class AsyncQueryExecutor {
+    private static final Logger log = LogManager.getLogger(AsyncQueryExecutor.class);
+    private static final int DEFAULT_PLATFORM_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private static volatile ExecutorService executor;
+
+    static <T> CompletableFuture<T> submit(String dataSource, Supplier<T> task) {
+        String name = dataSource != null ? dataSource : DBClientManager.DEFAULT_DATASOURCE;
+        Lane lane;
+        try {
+            lane = lanes.computeIfAbsent(name, key -> new Lane(DBClientManager.getMaximumPoolSize(key)));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        QueuedQuery<T> query = new QueuedQuery<>(task);
+        lane.submit(query);
+        return query.future;
+    }
+
+    /**
+     * Drops the lane of a datasource so it is sized again from its next registered pool
+     */
+    static void resetLane(String dataSource) {
+        lanes.remove(dataSource);
+    }
+
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (AsyncQueryExecutor.class) {
+                if (executor == null)
+                    executor = ThreadUtils.newTaskExecutor("db-async", DEFAULT_PLATFORM_THREADS);
+            }
+        }
+        return executor;
+    }
+
+    public static boolean isUsingVirtualThreads() {
+        return ThreadUtils.isVirtualThreadSupported();
+    }
+
+    /**
+     * Waits for running queries to finish and releases the executor, a later submit creates a new one
+     */
+    public static void shutdown() {
+        ExecutorService service;
+        synchronized (AsyncQueryExecutor.class) {
+            service = executor;
+            executor = null;
+        }
+        for (Lane lane : lanes.values()) {
+            lane.cancelWaiting();
+        }
+        lanes.clear();
+        if (service != null) {
+            service.shutdown();
+            try {
+                if (!service.awaitTermination(30, TimeUnit.SECONDS))
+                    service.shutdownNow();
+            } catch (InterruptedException e) {
+                service.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            log.info("Async query executor shut down");
+        }
+    }
+
+    /**
+     * Queries of one datasource, at most as many are handed to the shared executor as its pool has connections.
+     * The rest wait here instead of holding a worker, so a busy datasource never starves the others.
+     */
+    private static final class Lane {
+        private final int limit;
+        private final Queue<QueuedQuery<?>> waiting = new ArrayDeque<>();
+        private int running;
+
+        private Lane(int limit) {
+            this.limit = limit;
+        }
+
+        private void submit(QueuedQuery<?> query) {
+            synchronized (this) {
+                if (running >= limit) {
+                    waiting.add(query);
+                    return;
+                }
+                running++;
+            }
+            dispatch(query);
+        }
+
+        private void dispatch(QueuedQuery<?> query) {
+            while (query != null) {
+                QueuedQuery<?> next = query;
+                try {
+                    getExecutor().execute(() -> {
+                        try {
+                            next.run();
+                        } finally {
+                            dispatch(poll());
+                        }
+                    });
+                    return;
+                } catch (RejectedExecutionException e) {
+                    next.future.completeExceptionally(e);
+                    query = poll();
+                }
+            }
+        }
+
+        /**
+         * Takes the next waiting query for a freed slot, or gives the slot back when none is waiting
+         */
+        private synchronized QueuedQuery<?> poll() {
+            QueuedQuery<?> query = waiting.poll();
+            if (query == null)
+                running--;
+            return query;
+        }
+
+        private void cancelWaiting() {
+            QueuedQuery<?> query;
+            while ((query = pollWaiting()) != null) {
+                query.future.completeExceptionally(new CancellationException("Async query executor shut down"));
+            }
+        }
+
+        private synchronized QueuedQuery<?> pollWaiting() {
+            return waiting.poll();
+        }
+    }
+
+    private static final class QueuedQuery<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final Supplier<T> task;
+
+        private QueuedQuery(Supplier<T> task) {
+            this.task = task;
+        }
+
+        private void run() {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.database;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BatchResult {
+    private final int[] updateCounts;
+    private final Map<Integer, String> failures = new LinkedHashMap<>();
+    private boolean committed;
+
+    BatchResult(int size) {
+        this.updateCounts = new int[size];
+        Arrays.fill(updateCounts, Statement.EXECUTE_FAILED);
+    }
+
+    void setUpdateCounts(int offset, int[] counts) {
+        System.arraycopy(counts, 0, updateCounts, offset, Math.min(counts.length, updateCounts.length - offset));
+    }
+
+    void addFailure(int index, String message) {
+        failures.put(index, message);
+    }
+
+    /**
+     * Rows of a rolled back transaction changed nothing, so no update count is kept
+     */
+    void rollBack() {
+        Arrays.fill(updateCounts, Statement.EXECUTE_FAILED);
+        committed = false;
+    }
+
+    void setCommitted(boolean committed) {
+        this.committed = committed;
+    }
+
+    /**
+     * Update count per batched query in submission order, Statement.EXECUTE_FAILED for failed, skipped or rolled back rows
+     */
+    public int[] getUpdateCounts() {
+        return updateCounts.clone();
+    }
+
+    public int getUpdateCount(int index) {
+        return updateCounts[index];
+    }
+
+    /**
+     * Failure message keyed by the index of the batched query which failed
+     */
+    public Map<Integer, String> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * False when the transaction was rolled back due to a failure
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public long getTotalUpdateCount() {
+        long total = 0;
+        for (int count : updateCounts) {
+            if (count > 0)
+                total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{size=" + updateCounts.length + ", updated=" + getTotalUpdateCount()
+                + ", failures=" + failures.size() + ", committed=" + committed + "}";
+    }
+}
@@ -2,44 +2,205 @@ package com.database;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class DBClientManager {
     private static final Logger log = LogManager.getLogger(DBClientManager.class);
-    private static HikariDataSource dataSource;
+    public static final String DEFAULT_DATASOURCE = "default";
+    private static final int STATEMENT_CACHE_SIZE = 250;
+    private static final Map<String, PooledDataSource> dataSources = new ConcurrentHashMap<>();
 
     public static void setConnection(String dbUrl, String user, String password) {
-        if (dataSource == null) {
-            try {
-                HikariConfig config = new HikariConfig();
-                config.setJdbcUrl(dbUrl);
-                config.setUsername(user);
-                config.setPassword(password);
-                config.setDriverClassName("com.mysql.cj.jdbc.Driver");
-                config.setMaximumPoolSize(10);
-                dataSource = new HikariDataSource(config);
-                log.info("Database connection pool established successfully.");
-            } catch (Exception e) {
-                log.error("Error establishing database connection pool: " + e.getMessage());
-                throw new RuntimeException(e);
+        setConnection(DEFAULT_DATASOURCE, dbUrl, user, password, new PoolSettings());
+    }
+
+    /**
+     * Registers a named connection pool, an already registered name is left untouched. The pool is built and warmed
+     * up outside the registry so slow connection opens never block lookups of other pools.
+     */
+    public static void setConnection(String name, String dbUrl, String user, String password, PoolSettings settings) {
+        if (dataSources.containsKey(name))
+            return;
+        PooledDataSource dataSource;
+        try {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(dbUrl);
+            config.setUsername(user);
+            config.setPassword(password);
+            String driverClassName = settings.getDriverClassName() != null ? settings.getDriverClassName() : getDriverClassName(dbUrl);
+            if (driverClassName != null)
+                config.setDriverClassName(driverClassName);
+            config.setMaximumPoolSize(settings.getMaximumPoolSize());
+            config.setMinimumIdle(settings.getMinimumIdle());
+            config.setConnectionTimeout(settings.getConnectionTimeoutMs());
+            config.setLeakDetectionThreshold(settings.getLeakDetectionThresholdMs());
+            enableStatementCache(config, dbUrl);
+            dataSource = new PooledDataSource(new HikariDataSource(config));
+            log.info("Database connection pool '{}' established successfully.", name);
+        } catch (Exception e) {
+            log.error("Error establishing database connection pool '{}': {}", name, e.getMessage());
+            throw new RuntimeException(e);
+        }
+        if (settings.isWarmUp())
+            warmUp(name, dataSource, settings.getMinimumIdle());
+        if (dataSources.putIfAbsent(name, dataSource) != null) {
+            log.info("Database connection pool '{}' was registered concurrently, closing the duplicate pool.", name);
+            dataSource.close();
+            return;
+        }
+        AsyncQueryExecutor.resetLane(name);
+    }
+
+    private static String getDriverClassName(String dbUrl) {
+        if (dbUrl.startsWith("jdbc:mysql:"))
+            return "com.mysql.cj.jdbc.Driver";
+        if (dbUrl.startsWith("jdbc:sqlserver:"))
+            return "com.microsoft.sqlserver.jdbc.SQLServerDriver";
+        return null;
+    }
+
+    /**
+     * Turns on driver side prepared statement caching so repeated SQL text skips server side parsing
+     */
+    private static void enableStatementCache(HikariConfig config, String dbUrl) {
+        if (dbUrl.startsWith("jdbc:mysql:")) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(STATEMENT_CACHE_SIZE));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+        } else if (dbUrl.startsWith("jdbc:sqlserver:")) {
+            config.addDataSourceProperty("disableStatementPooling", "false");
+            config.addDataSourceProperty("statementPoolingCacheSize", String.valueOf(STATEMENT_CACHE_SIZE));
+        }
+        log.debug("Statement cache enabled for {}", dbUrl);
+    }
+
+    /**
+     * Borrows minimum idle connections at once so they are opened at startup instead of on first query
+     */
+    private static void warmUp(String name, PooledDataSource dataSource, int connections) {
+        List<Connection> borrowed = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                borrowed.add(dataSource.getConnection());
+            }
+            log.info("Warmed up {} connections for '{}' pool", borrowed.size(), name);
+        } catch (SQLException e) {
+            log.warn("Warm up of '{}' pool stopped after {} connections: {}", name, borrowed.size(), e.getMessage());
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.error("Error releasing warm up connection: {}", e.getMessage(), e);
+                }
             }
         }
     }
 
     public static Connection getConnection() throws SQLException {
+        return getConnection(DEFAULT_DATASOURCE);
+    }
+
+    public static Connection getConnection(String name) throws SQLException {
+        PooledDataSource dataSource = dataSources.get(name != null ? name : DEFAULT_DATASOURCE);
         if (dataSource == null) {
-            throw new SQLException("Connection pool not yet established!");
+            throw new SQLException("Connection pool '" + name + "' not yet established!");
         }
         return dataSource.getConnection();
     }
 
+    public static int getMaximumPoolSize(String name) {
+        PooledDataSource dataSource = dataSources.get(name);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Connection pool '" + name + "' not yet established!");
+        }
+        return dataSource.dataSource.getMaximumPoolSize();
+    }
+
+    public static boolean hasConnection(String name) {
+        return dataSources.containsKey(name);
+    }
+
+    public static PoolMetrics getPoolMetrics() {
+        return getPoolMetrics(DEFAULT_DATASOURCE);
+    }
+
+    public static PoolMetrics getPoolMetrics(String name) {
+        PooledDataSource dataSource = dataSources.get(name);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Connection pool '" + name + "' not yet established!");
+        }
+        return dataSource.getMetrics(name);
+    }
+
+    public static List<PoolMetrics> getAllPoolMetrics() {
+        List<PoolMetrics> metrics = new ArrayList<>();
+        dataSources.forEach((name, dataSource) -> metrics.add(dataSource.getMetrics(name)));
+        return metrics;
+    }
+
     public static void closeConnectionPool() {
+        for (String name : new ArrayList<>(dataSources.keySet())) {
+            closeConnectionPool(name);
+        }
+    }
+
+    public static void closeConnectionPool(String name) {
+        PooledDataSource dataSource = dataSources.remove(name);
+        AsyncQueryExecutor.resetLane(name);
         if (dataSource != null) {
+            log.info("Closing '{}' pool: {}", name, dataSource.getMetrics(name));
+            dataSource.close();
+            log.info("Database connection pool '{}' closed.", name);
+        }
+    }
+
+    private static class PooledDataSource {
+        private final HikariDataSource dataSource;
+        private final LongAdder acquireCount = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+        private PooledDataSource(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            Connection connection = dataSource.getConnection();
+            long elapsed = System.nanoTime() - start;
+            acquireCount.increment();
+            acquireNanos.add(elapsed);
+            maxAcquireNanos.accumulateAndGet(elapsed, Math::max);
+            return connection;
+        }
+
+        private PoolMetrics getMetrics(String name) {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            long count = acquireCount.sum();
+            double average = count == 0 ? 0 : acquireNanos.sum() / (double) count / 1_000_000;
+            return new PoolMetrics(name,
+                    pool != null ? pool.getActiveConnections() : 0,
+                    pool != null ? pool.getIdleConnections() : 0,
+                    pool != null ? pool.getTotalConnections() : 0,
+                    pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                    count, average, maxAcquireNanos.get() / 1_000_000.0);
+        }
+
+        private void close() {
             dataSource.close();
-            log.info("Database connection pool closed.");
         }
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,40 @@
 package com.database;
 
+import com.enums.QueryType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class DBHandler {
     private static final Logger log = LogManager.getLogger(DBHandler.class);
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static int fetchSize = DEFAULT_FETCH_SIZE;
+
+    /**
+     * JDBC fetch size hint used by cursor based SELECT queries
+     */
+    public static void setFetchSize(int fetchSize) {
+        if (fetchSize < 0 && fetchSize != Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("fetchSize must be a non-negative value");
+        }
+        DBHandler.fetchSize = fetchSize;
+        log.info("Fetch size set to {}", fetchSize);
+    }
+
+    public static int getFetchSize() {
+        return fetchSize;
+    }
 
     public static Object executeQuery(QueryModel queryModel) {
-        log.info("Executing {} query", queryModel.getQueryType());
+        log.debug("Executing {} query", queryModel.getQueryType());
         Object result = null;
         String query = buildQuery(queryModel);
-        try (Connection connection = DBClientManager.getConnection();
+        try (Connection connection = DBClientManager.getConnection(queryModel.getDataSource());
              PreparedStatement statement = connection.prepareStatement(query)) {
             setStatementParameters(statement, queryModel);
             String queryType = String.valueOf(queryModel.getQueryType());
@@ -23,14 +45,234 @@ public class DBHandler {
                     result = handleSelectQueryResult(resultSet);
                 }
             }
-            log.info("Query executed successfully: " + query);
+            log.debug("Query executed successfully: {}", query);
+        } catch (SQLException e) {
+            log.error("Error executing query: {}", e.getMessage(), e);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the query on AsyncQueryExecutor, completes with the same result as executeQuery
+     */
+    public static CompletableFuture<Object> executeQueryAsync(QueryModel queryModel) {
+        return AsyncQueryExecutor.submit(queryModel.getDataSource(), () -> executeQuery(queryModel));
+    }
+
+    /**
+     * Fans out all queries concurrently and completes with their results in submission order
+     */
+    public static CompletableFuture<List<Object>> executeQueriesAsync(List<QueryModel> queryModels) {
+        List<CompletableFuture<Object>> futures = new ArrayList<>(queryModels.size());
+        for (QueryModel queryModel : queryModels) {
+            futures.add(executeQueryAsync(queryModel));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<Object> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<Object> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    public static CompletableFuture<BatchResult> executeBatchAsync(List<QueryModel> queryModels, int batchSize) {
+        String dataSource = queryModels == null || queryModels.isEmpty() ? null : queryModels.get(0).getDataSource();
+        return AsyncQueryExecutor.submit(dataSource, () -> executeBatch(queryModels, batchSize));
+    }
+
+    /**
+     * Opens a forward-only cursor for SELECT query, connection stays borrowed until the cursor is closed
+     */
+    public static ResultCursor openCursor(QueryModel queryModel) {
+        if (queryModel.getQueryType() != QueryType.SELECT) {
+            throw new IllegalArgumentException("Cursor can only be opened for SELECT query");
+        }
+        if (log.isDebugEnabled())
+            log.debug("Opening cursor for {} query with fetch size {}", queryModel.getQueryType(), fetchSize);
+        String query = buildQuery(queryModel);
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DBClientManager.getConnection(queryModel.getDataSource());
+            statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            setStatementParameters(statement, queryModel);
+            return new ResultCursor(connection, statement, statement.executeQuery());
+        } catch (SQLException e) {
+            log.error("Error opening cursor: {}", e.getMessage(), e);
+            closeQuietly(statement);
+            closeQuietly(connection);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Lazily streams SELECT query rows, the stream must be closed to release the connection
+     */
+    public static Stream<Map<String, Object>> streamQuery(QueryModel queryModel) {
+        return openCursor(queryModel).stream();
+    }
+
+    /**
+     * Passes each SELECT query row to the consumer and returns the number of rows read
+     */
+    public static long executeQuery(QueryModel queryModel, Consumer<Map<String, Object>> rowConsumer) {
+        try (ResultCursor cursor = openCursor(queryModel)) {
+            while (cursor.hasNext()) {
+                rowConsumer.accept(cursor.next());
+            }
+            log.info("Streamed {} rows", cursor.getRowCount());
+            return cursor.getRowCount();
+        }
+    }
+
+    /**
+     * Executes SELECT query into a columnar ResultTable instead of per row HashMaps
+     */
+    public static ResultTable executeTableQuery(QueryModel queryModel) {
+        if (queryModel.getQueryType() != QueryType.SELECT) {
+            throw new IllegalArgumentException("Table result can only be built for SELECT query");
+        }
+        try (ResultCursor cursor = openCursor(queryModel)) {
+            ResultTable table = cursor.toTable();
+            log.info("Fetched {} rows into result table", table.getRowCount());
+            return table;
+        } catch (SQLException e) {
+            log.error("Error building result table: {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static BatchResult executeBatch(List<QueryModel> queryModels) {
+        return executeBatch(queryModels, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Executes INSERT, UPDATE or DELETE queries of the same shape as JDBC batches of batchSize within one transaction.
+     * On the first failing batch the transaction is rolled back and the failing rows are reported.
+     */
+    public static BatchResult executeBatch(List<QueryModel> queryModels, int batchSize) {
+        if (queryModels == null || queryModels.isEmpty()) {
+            throw new IllegalArgumentException("queryModels must not be empty");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be a positive value");
+        }
+        QueryModel template = queryModels.get(0);
+        if (template.getQueryType() == QueryType.SELECT) {
+            throw new IllegalArgumentException("Batch execution is not supported for SELECT query");
+        }
+        List<String> columns = getBindColumns(template);
+        for (QueryModel queryModel : queryModels) {
+            if (!isSameShape(template, queryModel)) {
+                throw new IllegalArgumentException("All batched queries must share the same query type, table and columns");
+            }
+        }
+        log.info("Executing {} {} queries in batches of {}", queryModels.size(), template.getQueryType(), batchSize);
+        String query = buildQuery(template);
+        BatchResult result = new BatchResult(queryModels.size());
+        try (Connection connection = DBClientManager.getConnection(template.getDataSource())) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int start = 0; start < queryModels.size() && result.isSuccessful(); start += batchSize) {
+                    int end = Math.min(start + batchSize, queryModels.size());
+                    for (int i = start; i < end; i++) {
+                        setBatchParameters(statement, queryModels.get(i), columns);
+                        statement.addBatch();
+                    }
+                    try {
+                        result.setUpdateCounts(start, statement.executeBatch());
+                    } catch (BatchUpdateException e) {
+                        log.error("Error executing batch rows {} to {}: {}", start, end - 1, e.getMessage(), e);
+                        recordBatchFailure(result, start, end, e);
+                        statement.clearBatch();
+                    }
+                }
+                if (result.isSuccessful()) {
+                    connection.commit();
+                    result.setCommitted(true);
+                } else {
+                    connection.rollback();
+                    result.rollBack();
+                    log.error("Batch rolled back with {} failed rows", result.getFailures().size());
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                result.rollBack();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            log.info("Batch executed: {}", result);
         } catch (SQLException e) {
-            log.error("Error executing query: " + e.getMessage(), e);
+            log.error("Error executing batch: {}", e.getMessage(), e);
+            if (result.isSuccessful())
+                result.addFailure(0, e.getMessage());
         }
         return result;
     }
 
+    private static void recordBatchFailure(BatchResult result, int start, int end, BatchUpdateException e) {
+        int[] counts = e.getUpdateCounts() != null ? e.getUpdateCounts() : new int[0];
+        result.setUpdateCounts(start, counts);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED)
+                result.addFailure(start + i, e.getMessage());
+        }
+        // Drivers which stop at the first error only return counts for the rows before it
+        if (counts.length < end - start)
+            result.addFailure(start + counts.length, e.getMessage());
+    }
+
+    private static boolean isSameShape(QueryModel template, QueryModel queryModel) {
+        return template.getQueryType() == queryModel.getQueryType()
+                && Objects.equals(template.getDataSource(), queryModel.getDataSource())
+                && Objects.equals(template.getTableName(), queryModel.getTableName())
+                && Objects.equals(template.getWhereCondition(), queryModel.getWhereCondition())
+                && new HashSet<>(getBindColumns(template)).equals(new HashSet<>(getBindColumns(queryModel)));
+    }
+
+    private static List<String> getBindColumns(QueryModel queryModel) {
+        switch (queryModel.getQueryType()) {
+            case INSERT:
+                return new ArrayList<>(queryModel.getInsertColumnValues().keySet());
+            case UPDATE:
+                return new ArrayList<>(queryModel.getUpdateColumnValues().keySet());
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Binds values by the template column order so maps with differing iteration order still line up
+     */
+    private static void setBatchParameters(PreparedStatement statement, QueryModel queryModel, List<String> columns) throws SQLException {
+        Map<String, Object> values = queryModel.getQueryType() == QueryType.INSERT
+                ? queryModel.getInsertColumnValues() : queryModel.getUpdateColumnValues();
+        int i = 1;
+        for (String column : columns) {
+            statement.setObject(i++, values.get(column));
+        }
+        setWhereParameters(statement, queryModel, i);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null)
+            return;
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.error("Error closing resource: {}", e.getMessage(), e);
+        }
+    }
+
     private static String buildQuery(QueryModel queryModel) {
+        return QueryTemplateCache.getQuery(queryModel, DBHandler::formatQuery);
+    }
+
+    private static String formatQuery(QueryModel queryModel) {
         StringBuilder query = new StringBuilder();
         switch (queryModel.getQueryType()) {
             case SELECT:
@@ -39,7 +281,10 @@ public class DBHandler {
                     query.append("TOP ").append(queryModel.getReturnTop()).append(" ");
                 }
                 query.append(queryModel.getSelectColumns() != null ? queryModel.getSelectColumns() : "*").append(" ");
-                query.append("FROM ").append(queryModel.getTableName()).append(" ");
+                query.append("FROM ").append(queryModel.getTableName());
+                if (queryModel.getWhereCondition() != null) {
+                    query.append(" WHERE ").append(queryModel.getWhereCondition());
+                }
                 break;
             case INSERT:
                 query.append("INSERT INTO ").append(queryModel.getTableName()).append(" (");
@@ -70,7 +315,7 @@ public class DBHandler {
                 query.append(" ").append(queryModel.getOrderType());
             }
         }
-        log.info("Formatted query: {}", query);
+        log.debug("Formatted query: {}", query);
         return query.toString();
     }
 
@@ -88,6 +333,15 @@ public class DBHandler {
                 }
                 break;
         }
+        setWhereParameters(statement, queryModel, i);
+    }
+
+    private static void setWhereParameters(PreparedStatement statement, QueryModel queryModel, int index) throws SQLException {
+        if (queryModel.getQueryType() == QueryType.INSERT)
+            return;
+        for (Object value : queryModel.getWhereValues()) {
+            statement.setObject(index++, value);
+        }
     }
 
     public static Object handleSelectQueryResult(ResultSet resultSet) {
@@ -95,12 +349,14 @@ public class DBHandler {
         try {
             ResultSetMetaData metaData = resultSet.getMetaData();
             int columnCount = metaData.getColumnCount();
+            String[] columnNames = new String[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                columnNames[i - 1] = metaData.getColumnName(i);
+            }
             while (resultSet.next()) {
                 Map<String, Object> row = new HashMap<>();
                 for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    Object value = resultSet.getObject(i);
-                    row.put(columnName, value);
+                    row.put(columnNames[i - 1], resultSet.getObject(i));
                 }
                 results.add(row);
             }
@@ -109,13 +365,13 @@ public class DBHandler {
                 return columnCount == 1 ? singleRow.values().iterator().next() : singleRow;
             }
         } catch (SQLException e) {
-            log.error("Error processing result set: " + e.getMessage(), e);
+            log.error("Error processing result set: {}", e.getMessage(), e);
         } finally {
             try {
                 if (resultSet != null && !resultSet.isClosed())
                     resultSet.close();
             } catch (SQLException e) {
-                log.error("Error closing result set: " + e.getMessage(), e);
+                log.error("Error closing result set: {}", e.getMessage(), e);
             }
         }
         return results;
@@ -0,0 +1,63 @@
+package com.database;
+
+public class PoolMetrics {
+    private final String dataSourceName;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int totalConnections;
+    private final int threadsAwaitingConnection;
+    private final long acquireCount;
+    private final double averageAcquireMillis;
+    private final double maxAcquireMillis;
+
+    PoolMetrics(String dataSourceName, int activeConnections, int idleConnections, int totalConnections,
+                int threadsAwaitingConnection, long acquireCount, double averageAcquireMillis, double maxAcquireMillis) {
+        this.dataSourceName = dataSourceName;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.totalConnections = totalConnections;
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+        this.acquireCount = acquireCount;
+        this.averageAcquireMillis = averageAcquireMillis;
+        this.maxAcquireMillis = maxAcquireMillis;
+    }
+
+    public String getDataSourceName() {
+        return dataSourceName;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    public double getAverageAcquireMillis() {
+        return averageAcquireMillis;
+    }
+
+    public double getMaxAcquireMillis() {
+        return maxAcquireMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolMetrics{dataSource=%s, active=%d, idle=%d, total=%d, waiting=%d, acquired=%d, avgAcquireMs=%.3f, maxAcquireMs=%.3f}",
+                dataSourceName, activeConnections, idleConnections, totalConnections, threadsAwaitingConnection,
+                acquireCount, averageAcquireMillis, maxAcquireMillis);
+    }
+}
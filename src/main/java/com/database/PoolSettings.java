@@ -0,0 +1,88 @@
+package com.database;
+
+public class PoolSettings {
+    private int maximumPoolSize = 10;
+    private int minimumIdle = 2;
+    private long connectionTimeoutMs = 30000;
+    private long leakDetectionThresholdMs = 0;
+    private boolean warmUp = true;
+    private String driverClassName;
+
+    public PoolSettings setMaximumPoolSize(int maximumPoolSize) {
+        if (maximumPoolSize <= 0) {
+            throw new IllegalArgumentException("maximumPoolSize must be a positive value");
+        }
+        this.maximumPoolSize = maximumPoolSize;
+        return this;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public PoolSettings setMinimumIdle(int minimumIdle) {
+        if (minimumIdle < 0) {
+            throw new IllegalArgumentException("minimumIdle must be a non-negative value");
+        }
+        this.minimumIdle = minimumIdle;
+        return this;
+    }
+
+    public int getMinimumIdle() {
+        return Math.min(minimumIdle, maximumPoolSize);
+    }
+
+    /**
+     * Maximum time to wait for a connection from the pool, Hikari requires at least 250 ms
+     */
+    public PoolSettings setConnectionTimeoutMs(long connectionTimeoutMs) {
+        if (connectionTimeoutMs < 250) {
+            throw new IllegalArgumentException("connectionTimeoutMs must be at least 250 ms");
+        }
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        return this;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    /**
+     * Logs a leak warning when a connection is held longer than this, 0 disables leak detection
+     */
+    public PoolSettings setLeakDetectionThresholdMs(long leakDetectionThresholdMs) {
+        if (leakDetectionThresholdMs != 0 && leakDetectionThresholdMs < 2000) {
+            throw new IllegalArgumentException("leakDetectionThresholdMs must be 0 or at least 2000 ms");
+        }
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        return this;
+    }
+
+    public long getLeakDetectionThresholdMs() {
+        return leakDetectionThresholdMs;
+    }
+
+    /**
+     * Opens minimum idle connections when the pool is created instead of on first use
+     */
+    public PoolSettings setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+        return this;
+    }
+
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Overrides the driver class, otherwise it is resolved from the JDBC url
+     */
+    public PoolSettings setDriverClassName(String driverClassName) {
+        this.driverClassName = driverClassName;
+        return this;
+    }
+
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+}
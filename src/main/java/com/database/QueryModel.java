@@ -1,6 +1,10 @@
 package com.database;
 
 import com.enums.QueryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public class QueryModel {
@@ -8,7 +12,9 @@ public class QueryModel {
     private Integer returnTop;
     private String selectColumns;
     private final String tableName;
+    private String dataSource = DBClientManager.DEFAULT_DATASOURCE;
     private String whereCondition;
+    private final List<Object> whereValues = new ArrayList<>();
     private String orderBy;
     private OrderType orderType;
     private Map<String, Object> insertColumnValues;
@@ -42,6 +48,17 @@ public class QueryModel {
         return tableName;
     }
 
+    /**
+     * Name of the DBClientManager connection pool the query runs against
+     */
+    public void setDataSource(String dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public String getDataSource() {
+        return dataSource;
+    }
+
     public void setReturnTop(Integer returnTop) {
         if (returnTop != null && returnTop < 0) {
             throw new IllegalArgumentException("returnTop must be a non-negative value");
@@ -55,12 +72,50 @@ public class QueryModel {
 
     public void setWhereCondition(String whereCondition) {
         this.whereCondition = whereCondition;
+        this.whereValues.clear();
+    }
+
+    /**
+     * Where condition with '?' placeholders, bind values are passed in placeholder order
+     */
+    public void setWhereCondition(String whereCondition, Object... whereValues) {
+        setWhereCondition(whereCondition);
+        if (whereValues != null)
+            this.whereValues.addAll(Arrays.asList(whereValues));
+    }
+
+    /**
+     * Appends 'column = ?' to the where condition with AND, null value is appended as 'column IS NULL'
+     */
+    public QueryModel addWhereCondition(String column, Object value) {
+        return addWhereCondition(column, "=", value);
+    }
+
+    /**
+     * Appends 'column operator ?' to the where condition with AND and binds the value, the existing condition is
+     * wrapped in parentheses
+     */
+    public QueryModel addWhereCondition(String column, String operator, Object value) {
+        String condition;
+        if (value == null && ("=".equals(operator) || "<>".equals(operator) || "!=".equals(operator))) {
+            condition = column + ("=".equals(operator) ? " IS NULL" : " IS NOT NULL");
+        } else {
+            condition = column + " " + operator + " ?";
+            whereValues.add(value);
+        }
+        // Parenthesised so an OR in a raw condition keeps binding tighter than the appended AND
+        whereCondition = whereCondition == null ? condition : "(" + whereCondition + ") AND " + condition;
+        return this;
     }
 
     public String getWhereCondition() {
         return whereCondition;
     }
 
+    public List<Object> getWhereValues() {
+        return Collections.unmodifiableList(whereValues);
+    }
+
     public void setOrderBy(String orderBy) {
         this.orderBy = orderBy;
     }
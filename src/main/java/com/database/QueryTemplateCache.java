@@ -0,0 +1,124 @@
+package com.database;
+
+import com.enums.QueryType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of built SQL text keyed by the structural shape of a QueryModel
+ */
+public class QueryTemplateCache {
+    private static final Logger log = LogManager.getLogger(QueryTemplateCache.class);
+    private static final int DEFAULT_MAX_SIZE = 256;
+    private static volatile int maxSize = DEFAULT_MAX_SIZE;
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final Map<QueryShape, String> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<QueryShape, String> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    static String getQuery(QueryModel queryModel, Function<QueryModel, String> queryBuilder) {
+        QueryShape shape = new QueryShape(queryModel);
+        String query;
+        synchronized (cache) {
+            query = cache.get(shape);
+        }
+        if (query != null) {
+            hits.incrementAndGet();
+            log.debug("Query template cache hit: {}", query);
+            return query;
+        }
+        misses.incrementAndGet();
+        query = queryBuilder.apply(queryModel);
+        synchronized (cache) {
+            cache.put(shape, query);
+        }
+        return query;
+    }
+
+    public static void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be a positive value");
+        }
+        QueryTemplateCache.maxSize = maxSize;
+        log.info("Query template cache size set to {}", maxSize);
+    }
+
+    public static long getHitCount() {
+        return hits.get();
+    }
+
+    public static long getMissCount() {
+        return misses.get();
+    }
+
+    public static int getSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public static void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+        log.info("Cleared query template cache");
+    }
+
+    private static final class QueryShape {
+        private final QueryType queryType;
+        private final Integer returnTop;
+        private final String selectColumns;
+        private final String tableName;
+        private final String whereCondition;
+        private final String orderBy;
+        private final QueryModel.OrderType orderType;
+        private final List<String> columns;
+        private final int hashCode;
+
+        private QueryShape(QueryModel queryModel) {
+            this.queryType = queryModel.getQueryType();
+            this.returnTop = queryModel.getReturnTop();
+            this.selectColumns = queryModel.getSelectColumns();
+            this.tableName = queryModel.getTableName();
+            this.whereCondition = queryModel.getWhereCondition();
+            this.orderBy = queryModel.getOrderBy();
+            this.orderType = queryModel.getOrderType();
+            Map<String, Object> values = queryType == QueryType.INSERT ? queryModel.getInsertColumnValues()
+                    : queryType == QueryType.UPDATE ? queryModel.getUpdateColumnValues() : null;
+            this.columns = values == null ? Collections.emptyList() : new ArrayList<>(values.keySet());
+            this.hashCode = Objects.hash(queryType, returnTop, selectColumns, tableName, whereCondition, orderBy, orderType, columns);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof QueryShape))
+                return false;
+            QueryShape that = (QueryShape) o;
+            return hashCode == that.hashCode
+                    && queryType == that.queryType
+                    && orderType == that.orderType
+                    && Objects.equals(returnTop, that.returnTop)
+                    && Objects.equals(selectColumns, that.selectColumns)
+                    && Objects.equals(tableName, that.tableName)
+                    && Objects.equals(whereCondition, that.whereCondition)
+                    && Objects.equals(orderBy, that.orderBy)
+                    && columns.equals(that.columns);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.sql.*;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Forward-only cursor over a SELECT result which owns its connection until closed
+ */
+public class ResultCursor implements Iterator<Map<String, Object>>, AutoCloseable {
+    private static final Logger log = LogManager.getLogger(ResultCursor.class);
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final String[] columnNames;
+    private Boolean hasNextRow;
+    private boolean closed;
+    private long rowCount;
+
+    ResultCursor(Connection connection, PreparedStatement statement, ResultSet resultSet) throws SQLException {
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        this.columnNames = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columnNames.length; i++) {
+            columnNames[i] = metaData.getColumnName(i + 1);
+        }
+    }
+
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed)
+            return false;
+        if (hasNextRow == null) {
+            try {
+                hasNextRow = resultSet.next();
+            } catch (SQLException e) {
+                close();
+                throw new IllegalStateException("Error advancing result cursor: " + e.getMessage(), e);
+            }
+            if (!hasNextRow)
+                close();
+        }
+        return hasNextRow;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext())
+            throw new NoSuchElementException("Result cursor has no more rows");
+        hasNextRow = null;
+        Map<String, Object> row = new HashMap<>((int) (columnNames.length / 0.75f) + 1);
+        try {
+            for (int i = 0; i < columnNames.length; i++) {
+                row.put(columnNames[i], resultSet.getObject(i + 1));
+            }
+        } catch (SQLException e) {
+            close();
+            throw new IllegalStateException("Error reading result cursor row: " + e.getMessage(), e);
+        }
+        rowCount++;
+        return row;
+    }
+
+    /**
+     * Reads the remaining rows into a columnar ResultTable
+     */
+    public ResultTable toTable() throws SQLException {
+        if (closed || hasNextRow != null)
+            throw new IllegalStateException("Result cursor already advanced");
+        ResultTable table = ResultTable.from(resultSet);
+        rowCount += table.getRowCount();
+        return table;
+    }
+
+    /**
+     * Lazily streams the remaining rows, closing the cursor when the stream is closed
+     */
+    public Stream<Map<String, Object>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            resultSet.close();
+        } catch (SQLException e) {
+            log.error("Error closing result set: {}", e.getMessage(), e);
+        }
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.error("Error closing statement: {}", e.getMessage(), e);
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.error("Error releasing connection: {}", e.getMessage(), e);
+        }
+        if (log.isDebugEnabled())
+            log.debug("Result cursor closed after {} rows", rowCount);
+    }
+}
@@ -0,0 +1,326 @@
+package com.database;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Columnar SELECT result sharing one column schema across all rows.
+ * Integer, Long and Double columns are kept in primitive arrays, everything else in Object arrays.
+ */
+public class ResultTable implements Iterable<Map<String, Object>> {
+    private static final int INITIAL_CAPACITY = 64;
+    private final String[] columnNames;
+    private final Map<String, Integer> columnIndex;
+    private final int[] distinctColumns;
+    private final Column[] columns;
+    private int rowCount;
+
+    private ResultTable(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        this.columnNames = new String[columnCount];
+        this.columnIndex = new HashMap<>((int) (columnCount / 0.75f) + 1);
+        this.columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnNames[i] = metaData.getColumnName(i + 1);
+            columnIndex.put(columnNames[i], i);
+            columns[i] = Column.of(metaData.getColumnClassName(i + 1));
+        }
+        // Same as a HashMap row, a repeated column name resolves to its last occurrence
+        this.distinctColumns = columnIndex.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Reads the remaining rows of the result set, the result set is left open for the caller
+     */
+    public static ResultTable from(ResultSet resultSet) throws SQLException {
+        ResultTable table = new ResultTable(resultSet.getMetaData());
+        while (resultSet.next()) {
+            for (int i = 0; i < table.columns.length; i++) {
+                table.columns[i].append(resultSet, i + 1, table.rowCount);
+            }
+            table.rowCount++;
+        }
+        return table;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public List<String> getColumnNames() {
+        return List.of(columnNames);
+    }
+
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndex.get(columnName);
+        if (index == null)
+            throw new IllegalArgumentException("Unknown column: " + columnName);
+        return index;
+    }
+
+    public Object getValue(int row, int column) {
+        checkRow(row);
+        return columns[column].get(row);
+    }
+
+    public Object getValue(int row, String columnName) {
+        return getValue(row, getColumnIndex(columnName));
+    }
+
+    public boolean isNull(int row, int column) {
+        checkRow(row);
+        return columns[column].isNull(row);
+    }
+
+    /**
+     * Reads a numeric cell without boxing, null cells read as 0
+     */
+    public long getLong(int row, int column) {
+        checkRow(row);
+        return columns[column].getLong(row);
+    }
+
+    /**
+     * Reads a numeric cell without boxing, null cells read as 0
+     */
+    public double getDouble(int row, int column) {
+        checkRow(row);
+        return columns[column].getDouble(row);
+    }
+
+    /**
+     * Read-only map view of a single row backed by the table columns
+     */
+    public Map<String, Object> getRow(int row) {
+        checkRow(row);
+        return new RowView(row);
+    }
+
+    /**
+     * Read-only list of row views
+     */
+    public List<Map<String, Object>> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Map<String, Object> get(int index) {
+                return getRow(index);
+            }
+
+            @Override
+            public int size() {
+                return rowCount;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        return asList().iterator();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rowCount)
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + rowCount + " rows");
+    }
+
+    private class RowView extends AbstractMap<String, Object> {
+        private final int row;
+
+        private RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Integer index = columnIndex.get(key);
+            return index == null ? null : columns[index].get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndex.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return distinctColumns.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < distinctColumns.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            int column = distinctColumns[next++];
+                            return new SimpleImmutableEntry<>(columnNames[column], columns[column].get(row));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return distinctColumns.length;
+                }
+            };
+        }
+    }
+
+    private abstract static class Column {
+        protected final BitSet nulls = new BitSet();
+
+        static Column of(String className) {
+            if (Integer.class.getName().equals(className))
+                return new IntColumn();
+            if (Long.class.getName().equals(className))
+                return new LongColumn();
+            if (Double.class.getName().equals(className))
+                return new DoubleColumn();
+            return new ObjectColumn();
+        }
+
+        abstract void append(ResultSet resultSet, int index, int row) throws SQLException;
+
+        abstract Object get(int row);
+
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+
+        long getLong(int row) {
+            Object value = get(row);
+            return value == null ? 0L : ((Number) value).longValue();
+        }
+
+        double getDouble(int row) {
+            Object value = get(row);
+            return value == null ? 0D : ((Number) value).doubleValue();
+        }
+
+        static int grow(int length) {
+            return Math.max(INITIAL_CAPACITY, length + (length >> 1));
+        }
+    }
+
+    private static class ObjectColumn extends Column {
+        private Object[] values = new Object[0];
+
+        @Override
+        void append(ResultSet resultSet, int index, int row) throws SQLException {
+            if (row == values.length)
+                values = Arrays.copyOf(values, grow(values.length));
+            values[row] = resultSet.getObject(index);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return values[row] == null;
+        }
+    }
+
+    private static class IntColumn extends Column {
+        private int[] values = new int[0];
+
+        @Override
+        void append(ResultSet resultSet, int index, int row) throws SQLException {
+            if (row == values.length)
+                values = Arrays.copyOf(values, grow(values.length));
+            values[row] = resultSet.getInt(index);
+            if (resultSet.wasNull())
+                nulls.set(row);
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+    }
+
+    private static class LongColumn extends Column {
+        private long[] values = new long[0];
+
+        @Override
+        void append(ResultSet resultSet, int index, int row) throws SQLException {
+            if (row == values.length)
+                values = Arrays.copyOf(values, grow(values.length));
+            values[row] = resultSet.getLong(index);
+            if (resultSet.wasNull())
+                nulls.set(row);
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        private double[] values = new double[0];
+
+        @Override
+        void append(ResultSet resultSet, int index, int row) throws SQLException {
+            if (row == values.length)
+                values = Arrays.copyOf(values, grow(values.length));
+            values[row] = resultSet.getDouble(index);
+            if (resultSet.wasNull())
+                nulls.set(row);
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : values[row];
+        }
+
+        @Override
+        long getLong(int row) {
+            return (long) values[row];
+        }
+
+        @Override
+        double getDouble(int row) {
+            return values[row];
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.dom;
+
+import com.enums.ElementState;
+import com.enums.LocatorPlatform;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.InvalidElementStateException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+import java.time.Duration;
+
+/**
+ * Gathers clicks, key sequences, drags and pauses across locators and submits them in a single W3C Actions call
+ */
+public class ActionChain {
+    private static final Logger log = LogManager.getLogger(ActionChain.class.getName());
+    private final LocatorPlatform locatorPlatform;
+    private final Actions actions;
+    private final long start = System.nanoTime();
+    private int steps;
+    private boolean performed;
+
+    ActionChain(LocatorPlatform locatorPlatform) {
+        this.locatorPlatform = locatorPlatform;
+        // A fresh builder so actions queued by other chains are never replayed
+        this.actions = new Actions(DriverManager.getDriverInstance(locatorPlatform));
+    }
+
+    public ActionChain click(LocatorModel locatorModel) {
+        actions.click(getClickable(locatorModel));
+        return step();
+    }
+
+    public ActionChain doubleClick(LocatorModel locatorModel) {
+        actions.doubleClick(getClickable(locatorModel));
+        return step();
+    }
+
+    public ActionChain rightClick(LocatorModel locatorModel) {
+        actions.contextClick(getClickable(locatorModel));
+        return step();
+    }
+
+    public ActionChain moveTo(LocatorModel locatorModel) {
+        WebElement element = WaitManager.getReadyElement(ElementState.Visible, locatorModel);
+        if (element == null)
+            throw new InvalidElementStateException(locatorModel.getLocatorName() + " element is not visible");
+        actions.moveToElement(element);
+        return step();
+    }
+
+    public ActionChain enterText(LocatorModel locatorModel, CharSequence... keys) {
+        WebElement element = WaitManager.getReadyElement(ElementState.Enabled, locatorModel);
+        if (element == null)
+            throw new InvalidElementStateException("Text field is not intractable");
+        actions.sendKeys(element, keys);
+        return step();
+    }
+
+    /**
+     * Types into the element which currently has focus
+     */
+    public ActionChain sendKeys(CharSequence... keys) {
+        actions.sendKeys(keys);
+        return step();
+    }
+
+    public ActionChain keyDown(Keys key) {
+        actions.keyDown(key);
+        return step();
+    }
+
+    public ActionChain keyUp(Keys key) {
+        actions.keyUp(key);
+        return step();
+    }
+
+    public ActionChain dragAndDrop(LocatorModel sourceLocatorModel, LocatorModel destLocatorModel) {
+        actions.dragAndDrop(getClickable(sourceLocatorModel), getClickable(destLocatorModel));
+        return step();
+    }
+
+    public ActionChain pause(Duration duration) {
+        actions.pause(duration);
+        return step();
+    }
+
+    public int getStepCount() {
+        return steps;
+    }
+
+    /**
+     * Submits all gathered actions in one perform call and returns the time spent on the whole chain
+     */
+    public Duration perform() {
+        if (performed)
+            throw new IllegalStateException("Action chain already performed");
+        performed = true;
+        long performStart = System.nanoTime();
+        actions.perform();
+        CacheManager.markInteraction(locatorPlatform);
+        long end = System.nanoTime();
+        Duration elapsed = Duration.ofNanos(end - start);
+        log.info("Performed {} chained actions on {} in {} ms ({} ms resolving elements, {} ms performing)", steps, locatorPlatform,
+                elapsed.toMillis(), Duration.ofNanos(performStart - start).toMillis(), Duration.ofNanos(end - performStart).toMillis());
+        return elapsed;
+    }
+
+    private WebElement getClickable(LocatorModel locatorModel) {
+        WebElement element = WaitManager.getReadyElement(ElementState.Clickable, locatorModel);
+        if (element == null)
+            throw new ElementClickInterceptedException(locatorModel.getLocatorName() + " element is not intractable");
+        return element;
+    }
+
+    private ActionChain step() {
+        if (performed)
+            throw new IllegalStateException("Action chain already performed");
+        steps++;
+        return this;
+    }
+}
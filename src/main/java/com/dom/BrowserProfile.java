@@ -0,0 +1,201 @@
+package com.dom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chrome launch options used by DriverManager, selectable per run with -Dbrowser.profile=default|headless|lean
+ */
+public class BrowserProfile {
+    private static final Logger log = LogManager.getLogger(BrowserProfile.class.getName());
+    public static final String PROFILE_PROPERTY = "browser.profile";
+    private static final List<String> FONT_URL_PATTERNS = List.of("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot");
+    private final String name;
+    private boolean headless;
+    private boolean blockImages;
+    private boolean blockFonts;
+    private boolean disableExtensions;
+    private boolean disableGpu;
+    private int windowWidth;
+    private int windowHeight;
+    private PageLoadStrategy pageLoadStrategy = PageLoadStrategy.NORMAL;
+    private String diskCacheDir;
+    private final LongAdder launches = new LongAdder();
+    private final LongAdder launchNanos = new LongAdder();
+    private final LongAdder pageLoads = new LongAdder();
+    private final LongAdder pageLoadNanos = new LongAdder();
+
+    public BrowserProfile(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Plain ChromeDriver launch with full UI, same as before profiles existed
+     */
+    public static BrowserProfile defaultProfile() {
+        return new BrowserProfile("default");
+    }
+
+    public static BrowserProfile headlessProfile() {
+        return new BrowserProfile("headless")
+                .setHeadless(true)
+                .setDisableGpu(true)
+                .setWindowSize(1366, 768);
+    }
+
+    /**
+     * Headless without images, fonts or extensions, returning control once the DOM is ready
+     */
+    public static BrowserProfile leanProfile() {
+        return new BrowserProfile("lean")
+                .setHeadless(true)
+                .setDisableGpu(true)
+                .setDisableExtensions(true)
+                .setBlockImages(true)
+                .setBlockFonts(true)
+                .setWindowSize(1280, 720)
+                .setPageLoadStrategy(PageLoadStrategy.EAGER);
+    }
+
+    public static BrowserProfile fromName(String name) {
+        switch (name.toLowerCase()) {
+            case "default":
+                return defaultProfile();
+            case "headless":
+                return headlessProfile();
+            case "lean":
+                return leanProfile();
+            default:
+                throw new IllegalArgumentException("Unknown browser profile: " + name);
+        }
+    }
+
+    public static BrowserProfile fromSystemProperty() {
+        return fromName(System.getProperty(PROFILE_PROPERTY, "default"));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BrowserProfile setHeadless(boolean headless) {
+        this.headless = headless;
+        return this;
+    }
+
+    public BrowserProfile setBlockImages(boolean blockImages) {
+        this.blockImages = blockImages;
+        return this;
+    }
+
+    /**
+     * Blocks web font downloads through the DevTools network domain once the browser is up
+     */
+    public BrowserProfile setBlockFonts(boolean blockFonts) {
+        this.blockFonts = blockFonts;
+        return this;
+    }
+
+    public BrowserProfile setDisableExtensions(boolean disableExtensions) {
+        this.disableExtensions = disableExtensions;
+        return this;
+    }
+
+    public BrowserProfile setDisableGpu(boolean disableGpu) {
+        this.disableGpu = disableGpu;
+        return this;
+    }
+
+    public BrowserProfile setWindowSize(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be positive values");
+        }
+        this.windowWidth = width;
+        this.windowHeight = height;
+        return this;
+    }
+
+    public BrowserProfile setPageLoadStrategy(PageLoadStrategy pageLoadStrategy) {
+        this.pageLoadStrategy = pageLoadStrategy;
+        return this;
+    }
+
+    /**
+     * Disk cache directory shared by every browser launched with this profile
+     */
+    public BrowserProfile setDiskCacheDir(String diskCacheDir) {
+        this.diskCacheDir = diskCacheDir;
+        return this;
+    }
+
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        if (headless)
+            options.addArguments("--headless=new");
+        if (disableGpu)
+            options.addArguments("--disable-gpu");
+        if (disableExtensions)
+            options.addArguments("--disable-extensions");
+        if (windowWidth > 0)
+            options.addArguments("--window-size=" + windowWidth + "," + windowHeight);
+        if (diskCacheDir != null)
+            options.addArguments("--disk-cache-dir=" + diskCacheDir);
+        if (blockImages) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+        options.setPageLoadStrategy(pageLoadStrategy);
+        return options;
+    }
+
+    ChromeDriver launch() {
+        long start = System.nanoTime();
+        ChromeDriver driver = new ChromeDriver(toChromeOptions());
+        if (blockFonts) {
+            driver.executeCdpCommand("Network.enable", new HashMap<>());
+            driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", FONT_URL_PATTERNS));
+        }
+        long elapsed = System.nanoTime() - start;
+        launches.increment();
+        launchNanos.add(elapsed);
+        log.info("Launched '{}' browser profile in {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return driver;
+    }
+
+    void recordPageLoad(long nanos) {
+        pageLoads.increment();
+        pageLoadNanos.add(nanos);
+    }
+
+    public long getLaunchCount() {
+        return launches.sum();
+    }
+
+    public double getAverageStartupMillis() {
+        long count = launches.sum();
+        return count == 0 ? 0 : launchNanos.sum() / (double) count / 1_000_000;
+    }
+
+    public long getPageLoadCount() {
+        return pageLoads.sum();
+    }
+
+    public double getAveragePageLoadMillis() {
+        long count = pageLoads.sum();
+        return count == 0 ? 0 : pageLoadNanos.sum() / (double) count / 1_000_000;
+    }
+
+    public String getTimingReport() {
+        return String.format("BrowserProfile{name=%s, launches=%d, avgStartupMs=%.1f, pageLoads=%d, avgPageLoadMs=%.1f}",
+                name, getLaunchCount(), getAverageStartupMillis(), getPageLoadCount(), getAveragePageLoadMillis());
+    }
+}
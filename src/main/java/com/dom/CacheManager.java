@@ -1,37 +1,86 @@
 package com.dom;
 
+import com.enums.LocatorPlatform;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebElement;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class CacheManager {
     private static final Logger log = LogManager.getLogger(CacheManager.class.getName());
-    private static final ConcurrentHashMap<String, WebElement> cache = new ConcurrentHashMap<>();
 
-    protected static void cacheElement(String locatorName, WebElement elementReferenceId) {
-        cache.put(locatorName, elementReferenceId);
-        log.info("Caching {} element", locatorName);
+    /**
+     * Elements are cached per driver session and platform so parallel sessions never share element references
+     */
+    private static ElementCache getCache(LocatorPlatform locatorPlatform) {
+        return DriverManager.getSession().getElementCache(locatorPlatform);
     }
 
-    protected static WebElement getCachedElement(String locatorName) {
-        log.info("Fetching {} element from cache ", locatorName);
-        return cache.get(locatorName);
+    protected static void cacheElement(LocatorModel locatorModel, WebElement elementReferenceId) {
+        getCache(locatorModel.getLocatorPlatform()).put(locatorModel.getLocatorName(), elementReferenceId);
+        log.debug("Caching {} element", locatorModel.getLocatorName());
     }
 
-    protected static void removeCacheLocator(String locatorName) {
-        cache.remove(locatorName);
-        log.info("Removed {} locator from cache", locatorName);
+    /**
+     * Returns null when the element is not cached or no longer belongs to the current page generation. A WEB hit may
+     * still be stale after a re-render on the same URL, callers resolve the locator again on StaleElementReferenceException.
+     */
+    protected static WebElement getCachedElement(LocatorModel locatorModel) {
+        log.debug("Fetching {} element from cache ", locatorModel.getLocatorName());
+        LocatorPlatform locatorPlatform = locatorModel.getLocatorPlatform();
+        return getCache(locatorPlatform).get(locatorModel.getLocatorName(),
+                locatorPlatform == LocatorPlatform.WEB ? () -> DriverManager.getDriverInstance(locatorPlatform).getCurrentUrl() : null,
+                CacheManager::isAttached);
     }
 
-    protected static boolean containsCacheLocator(String locatorName) {
-        boolean contains = cache.containsKey(locatorName);
-        log.info("Cache {} {} locator", contains ? "contains" : "doesn't contain", locatorName);
+    private static boolean isAttached(WebElement element) {
+        try {
+            element.isDisplayed();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    protected static void removeCacheLocator(LocatorModel locatorModel) {
+        getCache(locatorModel.getLocatorPlatform()).remove(locatorModel.getLocatorName());
+        log.debug("Removed {} locator from cache", locatorModel.getLocatorName());
+    }
+
+    protected static boolean containsCacheLocator(LocatorModel locatorModel) {
+        boolean contains = getCache(locatorModel.getLocatorPlatform()).contains(locatorModel.getLocatorName());
+        log.debug("Cache {} {} locator", contains ? "contains" : "doesn't contain", locatorModel.getLocatorName());
         return contains;
     }
 
+    /**
+     * Records an interaction which may have changed the page, the next cache hit re-checks the page first
+     */
+    protected static void markInteraction(LocatorPlatform locatorPlatform) {
+        getCache(locatorPlatform).markInteraction();
+    }
+
+    /**
+     * Drops every cached element of the platform, e.g. after navigating outside of DriverManager.launchURL
+     */
+    public static void newPageGeneration(LocatorPlatform locatorPlatform) {
+        ElementCache cache = getCache(locatorPlatform);
+        cache.nextGeneration(locatorPlatform == LocatorPlatform.WEB ? DriverManager.getDriverInstance(locatorPlatform).getCurrentUrl() : null);
+        log.debug("Started {} page generation {}", locatorPlatform, cache.getGeneration());
+    }
+
+    public static ElementCache getElementCache(LocatorPlatform locatorPlatform) {
+        return getCache(locatorPlatform);
+    }
+
+    public static void setCacheSize(int maxSize) {
+        ElementCache.setDefaultMaxSize(maxSize);
+        log.info("Element cache size set to {} for new driver sessions", maxSize);
+    }
+
     public static void clearCacheLocator() {
-        cache.clear();
+        for (LocatorPlatform locatorPlatform : LocatorPlatform.values()) {
+            getCache(locatorPlatform).clear();
+        }
         log.info("Cleared all locator from cache");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,237 @@
+package com.dom;
+
+import com.enums.LocatorPlatform;
+import com.utils.AppiumUtils;
+import com.utils.ThreadUtils;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.ios.IOSDriver;
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import java.net.URL;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs mobile work on several devices at once. Every device gets its own Appium server on a free port, and worker
+ * threads lease whichever device is idle, so load is shared across the device list.
+ */
+public class DeviceFarm implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(DeviceFarm.class.getName());
+    private final LocatorPlatform platform;
+    private final List<DesiredCapabilities> devices;
+    private final List<URL> serverUrls;
+    private final List<AppiumDriverLocalService> services = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<Device> idleDevices = new LinkedBlockingQueue<>();
+    private final Map<DriverSession, Device> leases = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final Set<CompletableFuture<Void>> pendingRuns = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Farm starting a local Appium server per device
+     */
+    public DeviceFarm(LocatorPlatform platform, List<DesiredCapabilities> devices) {
+        this(platform, devices, null);
+    }
+
+    /**
+     * Farm using already running Appium endpoints, one per device, e.g. remote servers or a local stub
+     */
+    public DeviceFarm(LocatorPlatform platform, List<DesiredCapabilities> devices, List<URL> serverUrls) {
+        if (platform != LocatorPlatform.IOS && platform != LocatorPlatform.ANDROID)
+            throw new IllegalArgumentException("Device farm supports IOS and ANDROID only");
+        if (devices.isEmpty())
+            throw new IllegalArgumentException("At least one device is required");
+        if (serverUrls != null && serverUrls.size() != devices.size())
+            throw new IllegalArgumentException("One server url is required per device");
+        this.platform = platform;
+        this.devices = List.copyOf(devices);
+        this.serverUrls = serverUrls == null ? null : List.copyOf(serverUrls);
+        this.executor = ThreadUtils.newTaskExecutor("device-farm", devices.size());
+    }
+
+    /**
+     * Starts the Appium servers in parallel and returns once every device is ready or failed to start
+     */
+    public void start() {
+        long start = System.nanoTime();
+        Set<Integer> usedPorts = new HashSet<>();
+        List<CompletableFuture<Void>> starts = new ArrayList<>();
+        for (int i = 0; i < devices.size(); i++) {
+            int index = i;
+            DesiredCapabilities capabilities = new DesiredCapabilities(devices.get(i));
+            assignDevicePort(capabilities, usedPorts);
+            int port = serverUrls == null ? nextFreePort(usedPorts) : -1;
+            starts.add(CompletableFuture.runAsync(() -> {
+                URL url;
+                if (serverUrls != null) {
+                    url = serverUrls.get(index);
+                } else {
+                    AppiumDriverLocalService service = AppiumUtils.startServer(port);
+                    services.add(service);
+                    url = service.getUrl();
+                }
+                idleDevices.offer(new Device(index, capabilities, url));
+                log.info("{} device {} ready on {}", platform, index, url);
+            }, executor).exceptionally(e -> {
+                log.error("{} device {} could not be started: {}", platform, index, e.getMessage());
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(starts.toArray(new CompletableFuture[0])).join();
+        if (idleDevices.isEmpty())
+            throw new IllegalStateException("No " + platform + " device could be started");
+        log.info("{} of {} {} devices ready in {} ms", idleDevices.size(), devices.size(), platform,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Devices behind one Appium server still need distinct driver side ports when running in parallel
+     */
+    private void assignDevicePort(DesiredCapabilities capabilities, Set<Integer> usedPorts) {
+        String capability = platform == LocatorPlatform.IOS ? "appium:wdaLocalPort" : "appium:systemPort";
+        if (capabilities.getCapability(capability) == null)
+            capabilities.setCapability(capability, nextFreePort(usedPorts));
+    }
+
+    private static int nextFreePort(Set<Integer> usedPorts) {
+        while (true) {
+            int port = AppiumUtils.getFreePort();
+            if (usedPorts.add(port))
+                return port;
+        }
+    }
+
+    /**
+     * Leases an idle device to the calling thread's session, creating its driver on the device's Appium server
+     */
+    public void acquire(Duration timeout) {
+        if (closed)
+            throw new IllegalStateException("Device farm is closed");
+        DriverSession session = DriverManager.getSession();
+        if (leases.containsKey(session))
+            throw new IllegalStateException("Session already holds a " + platform + " device");
+        Device device;
+        try {
+            device = idleDevices.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + platform + " device", e);
+        }
+        if (device == null)
+            throw new IllegalStateException("No " + platform + " device available within " + timeout.toMillis() + " ms");
+        try {
+            if (platform == LocatorPlatform.IOS)
+                session.setIosDriver(new IOSDriver(device.serverUrl, device.capabilities));
+            else
+                session.setAndroidDriver(new AndroidDriver(device.serverUrl, device.capabilities));
+        } catch (RuntimeException e) {
+            idleDevices.offer(device);
+            throw e;
+        }
+        leases.put(session, device);
+        log.info("{} device {} leased", platform, device.index);
+    }
+
+    /**
+     * Quits the calling thread's driver and returns its device to the farm
+     */
+    public void release() {
+        release(DriverManager.getSession());
+    }
+
+    private void release(DriverSession session) {
+        Device device = leases.remove(session);
+        if (device == null)
+            return;
+        try {
+            DriverManager.quitDriverInstance(session, platform);
+        } catch (Exception e) {
+            log.error("Error quitting {} driver of device {}: {}", platform, device.index, e.getMessage(), e);
+        }
+        if (!closed)
+            idleDevices.offer(device);
+        log.info("{} device {} released", platform, device.index);
+    }
+
+    /**
+     * Runs every task on the next idle device, in parallel across devices, completing when all tasks are done
+     */
+    public CompletableFuture<Void> run(List<Runnable> tasks, Duration acquireTimeout) {
+        List<CompletableFuture<Void>> runs = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            CompletableFuture<Void> run = CompletableFuture.runAsync(() -> {
+                try {
+                    acquire(acquireTimeout);
+                    try {
+                        task.run();
+                    } finally {
+                        release();
+                    }
+                } finally {
+                    // Worker threads are not reused on the virtual thread executor, don't leave their session behind
+                    DriverManager.clearSession();
+                }
+            }, executor);
+            pendingRuns.add(run);
+            run.whenComplete((ignored, e) -> pendingRuns.remove(run));
+            runs.add(run);
+        }
+        return CompletableFuture.allOf(runs.toArray(new CompletableFuture[0]));
+    }
+
+    public int getDeviceCount() {
+        return idleDevices.size() + leases.size();
+    }
+
+    public int getIdleDeviceCount() {
+        return idleDevices.size();
+    }
+
+    /**
+     * Quits leased drivers and stops every Appium server started by the farm
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        executor.shutdownNow();
+        // Runs dropped from the executor queue would otherwise never complete
+        for (CompletableFuture<Void> run : new ArrayList<>(pendingRuns)) {
+            run.completeExceptionally(new CancellationException("Device farm closed"));
+        }
+        for (DriverSession session : new ArrayList<>(leases.keySet())) {
+            release(session);
+        }
+        idleDevices.clear();
+        List<CompletableFuture<Void>> stops = new ArrayList<>();
+        for (AppiumDriverLocalService service : services) {
+            stops.add(CompletableFuture.runAsync(() -> {
+                try {
+                    service.stop();
+                } catch (Exception e) {
+                    log.error("Error stopping Appium server {}: {}", service.getUrl(), e.getMessage(), e);
+                }
+            }));
+        }
+        CompletableFuture.allOf(stops.toArray(new CompletableFuture[0])).join();
+        services.clear();
+        log.info("{} device farm closed", platform);
+    }
+
+    private static final class Device {
+        private final int index;
+        private final DesiredCapabilities capabilities;
+        private final URL serverUrl;
+
+        private Device(int index, DesiredCapabilities capabilities, URL serverUrl) {
+            this.index = index;
+            this.capabilities = capabilities;
+            this.serverUrl = serverUrl;
+        }
+    }
+}
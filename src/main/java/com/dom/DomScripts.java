@@ -0,0 +1,130 @@
+package com.dom;
+
+import com.enums.LocatorPlatform;
+import com.enums.LocatorType;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Browser side helpers shared by the batched element status, event driven wait and JSExecutor scripts
+ */
+final class DomScripts {
+    private static final Set<LocatorType> SCRIPT_LOCATOR_TYPES = EnumSet.of(LocatorType.XPATH, LocatorType.CSS,
+            LocatorType.NAME, LocatorType.TAG, LocatorType.TEXT, LocatorType.ID);
+
+    private static final String RESOLVE_FUNCTION = "function resolve(type, value) {"
+            + "  try {"
+            + "    if (type === 'XPATH') return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    if (type === 'CSS') return document.querySelector(value);"
+            + "    if (type === 'NAME') return document.getElementsByName(value)[0] || null;"
+            + "    if (type === 'TAG') return document.getElementsByTagName(value)[0] || null;"
+            + "    if (type === 'ID') return document.getElementById(value);"
+            + "    if (type === 'TEXT') {"
+            + "      var links = document.getElementsByTagName('a');"
+            + "      for (var j = 0; j < links.length; j++) if (links[j].textContent.trim() === value) return links[j];"
+            + "    }"
+            + "  } catch (e) {}"
+            + "  return null;"
+            + "}";
+
+    private static final String VISIBLE_FUNCTION = "function isVisible(el) {"
+            + "  var style = window.getComputedStyle(el);"
+            + "  return el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';"
+            + "}";
+
+    static final String ELEMENT_STATUS_SCRIPT = RESOLVE_FUNCTION + VISIBLE_FUNCTION
+            + "var locators = arguments[0], results = [];"
+            + "for (var i = 0; i < locators.length; i++) {"
+            + "  var el = resolve(locators[i][0], locators[i][1]);"
+            + "  if (!el) { results.push({present: false}); continue; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  results.push({present: true, element: el, visible: isVisible(el), enabled: !el.disabled,"
+            + "    x: rect.left + window.pageXOffset, y: rect.top + window.pageYOffset, width: rect.width, height: rect.height});"
+            + "}"
+            + "return results;";
+
+    /**
+     * Async script completing as soon as a DOM mutation brings the locator into the state, or with matched false on timeout
+     */
+    static final String WAIT_FOR_STATE_SCRIPT = RESOLVE_FUNCTION + VISIBLE_FUNCTION
+            + "var type = arguments[0], value = arguments[1], state = arguments[2], timeout = arguments[3];"
+            + "var done = arguments[arguments.length - 1];"
+            + "function check() {"
+            + "  var el = resolve(type, value);"
+            + "  if (state === 'NotPresent') return el ? null : {matched: true};"
+            + "  if (!el) return state === 'Invisible' ? {matched: true} : null;"
+            + "  var visible = isVisible(el), matched;"
+            + "  if (state === 'Present') matched = true;"
+            + "  else if (state === 'Visible') matched = visible;"
+            + "  else if (state === 'Invisible') matched = !visible;"
+            + "  else if (state === 'Disabled') matched = !!el.disabled;"
+            + "  else matched = visible && !el.disabled;"
+            + "  return matched ? {matched: true, element: el} : null;"
+            + "}"
+            + "var result = check();"
+            + "if (result) { done(result); return; }"
+            + "var finished = false, observer, timer, timeoutId;"
+            + "function finish(r) {"
+            + "  if (finished) return;"
+            + "  finished = true; observer.disconnect(); clearInterval(timer); clearTimeout(timeoutId); done(r);"
+            + "}"
+            + "function recheck() { var r = check(); if (r) finish(r); }"
+            + "observer = new MutationObserver(recheck);"
+            + "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+            // Style sheet and animation driven visibility changes don't mutate the DOM, so re-check slowly as well
+            + "timer = setInterval(recheck, 250);"
+            + "timeoutId = setTimeout(function () { finish({matched: false}); }, timeout);";
+
+    /**
+     * Runs a registered function, reporting registered false when the page does not hold it yet
+     */
+    static final String INVOKE_SCRIPT = "var fns = window.__domScripts;"
+            + "if (!fns || !fns[arguments[0]]) return {registered: false};"
+            + "return {registered: true, value: fns[arguments[0]].apply(null, arguments[1])};";
+
+    /**
+     * Compiles the script body once into a function kept on the page and runs it
+     */
+    static final String REGISTER_SCRIPT = "var fns = window.__domScripts = window.__domScripts || {};"
+            + "fns[arguments[0]] = new Function(arguments[1]);"
+            + "return {registered: true, value: fns[arguments[0]].apply(null, arguments[2])};";
+
+    private static final String TARGET_FUNCTION = "function target(entry) { return entry[0] || resolve(entry[1], entry[2]); }";
+
+    /**
+     * Sets the value of every field entry [element, type, value, text], returning whether each one was filled
+     */
+    static final String FILL_FIELDS_SCRIPT = RESOLVE_FUNCTION + TARGET_FUNCTION
+            + "var entries = arguments[0], results = [];"
+            + "for (var i = 0; i < entries.length; i++) {"
+            + "  var el = target(entries[i]);"
+            + "  if (!el || el.disabled) { results.push(false); continue; }"
+            + "  el.value = entries[i][3];"
+            + "  results.push(true);"
+            + "}"
+            + "return results;";
+
+    /**
+     * Reads a property, or the attribute when no such property exists, of every entry [element, type, value]
+     */
+    static final String READ_PROPERTY_SCRIPT = RESOLVE_FUNCTION + TARGET_FUNCTION
+            + "var entries = arguments[0], name = arguments[1], results = [];"
+            + "for (var i = 0; i < entries.length; i++) {"
+            + "  var el = target(entries[i]);"
+            + "  if (!el) { results.push(null); continue; }"
+            + "  var value = el[name];"
+            + "  if (value === undefined || value === null) value = el.getAttribute(name);"
+            + "  results.push(value === null ? null : String(value));"
+            + "}"
+            + "return results;";
+
+    /**
+     * WEB locators the resolve function can find in the browser without a WebDriver lookup
+     */
+    static boolean isResolvable(LocatorModel locatorModel) {
+        return locatorModel.getLocatorPlatform() == LocatorPlatform.WEB && SCRIPT_LOCATOR_TYPES.contains(locatorModel.getLocatorType());
+    }
+
+    private DomScripts() {
+    }
+}
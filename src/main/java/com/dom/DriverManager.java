@@ -6,76 +6,206 @@ import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebDriverException;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DriverManager extends AppiumUtils {
     private static final Logger log = LogManager.getLogger(DriverManager.class.getName());
-    private static WebDriver webDriver;
-    private static IOSDriver iosDriver;
-    private static AndroidDriver androidDriver;
+    private static final Set<DriverSession> sessions = ConcurrentHashMap.newKeySet();
+    private static final Duration DEFAULT_BORROW_TIMEOUT = Duration.ofSeconds(120);
+    private static volatile WebDriverPool webDriverPool;
+    private static volatile BrowserProfile webDriverPoolProfile;
+    private static volatile BrowserProfile browserProfile;
+    private static final ThreadLocal<DriverSession> currentSession = ThreadLocal.withInitial(DriverSession::new);
+
+    /**
+     * Session bound to the calling thread, created on first use
+     */
+    public static DriverSession getSession() {
+        return currentSession.get();
+    }
+
+    /**
+     * Binds an explicit session to the calling thread, e.g. to hand a session over to another worker
+     */
+    public static void setSession(DriverSession session) {
+        if (session.isActive())
+            sessions.add(session);
+        currentSession.set(session);
+    }
+
+    /**
+     * Sessions are tracked for teardown only while they hold a driver, so threads which never start a driver or
+     * whose drivers are quit do not accumulate, and a session reused after quitAllSessions is tracked again
+     */
+    static void trackSession(DriverSession session) {
+        sessions.add(session);
+    }
+
+    /**
+     * Unbinds the calling thread's session without quitting anything, e.g. at the end of a pooled or virtual thread task
+     */
+    public static void clearSession() {
+        DriverSession session = currentSession.get();
+        if (!session.isActive())
+            sessions.remove(session);
+        currentSession.remove();
+    }
+
+    /**
+     * Quits every driver of the calling thread's session and unbinds it from the thread
+     */
+    public static void quitSession() {
+        DriverSession session = currentSession.get();
+        session.quit();
+        sessions.remove(session);
+        currentSession.remove();
+    }
+
+    /**
+     * Quits the drivers of every session created in this JVM and stops the shared Appium server, for suite level teardown
+     */
+    public static void quitAllSessions() {
+        for (DriverSession session : sessions) {
+            session.quit();
+        }
+        sessions.clear();
+        currentSession.remove();
+        stopServer();
+    }
+
+    /**
+     * Launch profile for new browsers, defaults to the -Dbrowser.profile system property
+     */
+    public static void setBrowserProfile(BrowserProfile profile) {
+        browserProfile = profile;
+        log.info("Browser profile set to '{}'", profile.getName());
+    }
+
+    public static BrowserProfile getBrowserProfile() {
+        if (browserProfile == null) {
+            synchronized (DriverManager.class) {
+                if (browserProfile == null)
+                    browserProfile = BrowserProfile.fromSystemProperty();
+            }
+        }
+        return browserProfile;
+    }
 
     public static void setWebDriver() {
-        if (webDriver == null) {
-            webDriver = new ChromeDriver();
+        DriverSession session = getSession();
+        if (session.getWebDriver() == null) {
+            WebDriverPool pool = webDriverPool;
+            if (pool != null) {
+                session.setWebDriver(pool.borrow(DEFAULT_BORROW_TIMEOUT));
+                session.setWebProfile(webDriverPoolProfile);
+            } else {
+                BrowserProfile profile = getBrowserProfile();
+                session.setWebDriver(profile.launch());
+                session.setWebProfile(profile);
+            }
             log.info("WebDriver initialized successfully!");
         }
     }
 
+    /**
+     * Starts size browsers in the background, setWebDriver then borrows from the pool and quitting WEB returns to it
+     */
+    public static synchronized void startWebDriverPool(int size) {
+        if (webDriverPool == null) {
+            BrowserProfile profile = getBrowserProfile();
+            WebDriverPool pool = new WebDriverPool(size, profile::launch);
+            pool.start();
+            webDriverPoolProfile = profile;
+            webDriverPool = pool;
+        }
+    }
+
+    public static DriverPoolMetrics getWebDriverPoolMetrics() {
+        WebDriverPool pool = webDriverPool;
+        if (pool == null)
+            throw new IllegalStateException("WebDriver pool not yet started!");
+        return pool.getMetrics();
+    }
+
+    public static synchronized void closeWebDriverPool() {
+        if (webDriverPool != null) {
+            webDriverPool.close();
+            webDriverPool = null;
+        }
+    }
+
     public static void setIosDriver(DesiredCapabilities capabilities) {
-        if (iosDriver == null) {
-            iosDriver = new IOSDriver(startServer().getUrl(), capabilities);
+        DriverSession session = getSession();
+        if (session.getIosDriver() == null) {
+            session.setIosDriver(new IOSDriver(getServerUrl(), capabilities));
             log.info("IOSDriver initialized successfully!");
         }
     }
 
     public static void setAndroidDriver(DesiredCapabilities capabilities) {
-        if (androidDriver == null) {
-            androidDriver = new AndroidDriver(startServer(), capabilities);
+        DriverSession session = getSession();
+        if (session.getAndroidDriver() == null) {
+            session.setAndroidDriver(new AndroidDriver(getServerUrl(), capabilities));
             log.info("AndroidDriver initialized successfully!");
         }
     }
 
     public static RemoteWebDriver getDriverInstance(LocatorPlatform locatorPlatform) {
-        switch (locatorPlatform) {
-            case WEB:
-                if (webDriver == null)
-                    throw new WebDriverException("WebDriver not yet initialised!");
-                return (RemoteWebDriver) webDriver;
-            case IOS:
-                if (iosDriver == null)
-                    throw new WebDriverException("IosDriver not yet initialised!");
-                return iosDriver;
-            case ANDROID:
-                if (androidDriver == null)
-                    throw new WebDriverException("Android Driver not yet initialised!");
-                return androidDriver;
-            default:
-                throw new IllegalArgumentException("Invalid platform: " + locatorPlatform);
-        }
+        return getSession().getDriver(locatorPlatform);
     }
 
     public static void quitDriverInstance(LocatorPlatform locatorPlatform) {
+        quitDriverInstance(getSession(), locatorPlatform);
+    }
+
+    static void quitDriverInstance(DriverSession session, LocatorPlatform locatorPlatform) {
         log.debug("Quiting {} driver instance", locatorPlatform);
-        switch (locatorPlatform) {
-            case WEB:
-                if (webDriver != null)
-                    webDriver.quit();
-                break;
-            case IOS:
-                if (iosDriver != null) {
-                    iosDriver.quit();
-                    stopServer();
-                }
-                break;
-            case ANDROID:
-                if (androidDriver != null)
-                    androidDriver.quit();
-                break;
+        try {
+            switch (locatorPlatform) {
+                case WEB:
+                    if (session.getWebDriver() != null) {
+                        WebDriverPool pool = webDriverPool;
+                        WaitManager.releaseWaits(session.getWebDriver());
+                        try {
+                            if (pool != null && pool.owns(session.getWebDriver()))
+                                pool.release(session.getWebDriver());
+                            else
+                                session.getWebDriver().quit();
+                        } finally {
+                            session.setWebDriver(null);
+                            session.setWebProfile(null);
+                        }
+                    }
+                    break;
+                case IOS:
+                    if (session.getIosDriver() != null) {
+                        WaitManager.releaseWaits(session.getIosDriver());
+                        try {
+                            session.getIosDriver().quit();
+                        } finally {
+                            session.setIosDriver(null);
+                        }
+                    }
+                    break;
+                case ANDROID:
+                    if (session.getAndroidDriver() != null) {
+                        WaitManager.releaseWaits(session.getAndroidDriver());
+                        try {
+                            session.getAndroidDriver().quit();
+                        } finally {
+                            session.setAndroidDriver(null);
+                        }
+                    }
+                    break;
+            }
+        } finally {
+            session.release(locatorPlatform);
+            if (!session.isActive())
+                sessions.remove(session);
         }
     }
 
@@ -83,7 +213,12 @@ public class DriverManager extends AppiumUtils {
         if (maximiseWindow){
             getDriverInstance(LocatorPlatform.WEB).manage().window().maximize();
         }
+        long start = System.nanoTime();
         getDriverInstance(LocatorPlatform.WEB).get(URL);
+        BrowserProfile profile = getSession().getWebProfile();
+        if (profile != null)
+            profile.recordPageLoad(System.nanoTime() - start);
+        CacheManager.newPageGeneration(LocatorPlatform.WEB);
     }
 
     public static void setPageTimeOut(LocatorPlatform locatorPlatform, int sec) {
@@ -97,7 +232,7 @@ public class DriverManager extends AppiumUtils {
     }
 
     public static void setScriptTimeOut(int sec) {
-        getDriverInstance(LocatorPlatform.WEB).manage().timeouts().scriptTimeout(Duration.ofSeconds(sec));
+        getSession().setScriptTimeout(Duration.ofSeconds(sec));
         log.info("WEB driver script timeout set to {} seconds", sec);
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.dom;
+
+public class DriverPoolMetrics {
+    private final int size;
+    private final int idle;
+    private final long created;
+    private final long evicted;
+    private final long borrowed;
+    private final long reused;
+    private final double averageWaitMillis;
+    private final double maxWaitMillis;
+
+    DriverPoolMetrics(int size, int idle, long created, long evicted, long borrowed, long reused,
+                      double averageWaitMillis, double maxWaitMillis) {
+        this.size = size;
+        this.idle = idle;
+        this.created = created;
+        this.evicted = evicted;
+        this.borrowed = borrowed;
+        this.reused = reused;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getEvicted() {
+        return evicted;
+    }
+
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    public long getReused() {
+        return reused;
+    }
+
+    /**
+     * Share of borrows served by a driver which had already been used
+     */
+    public double getReuseRate() {
+        return borrowed == 0 ? 0 : reused / (double) borrowed;
+    }
+
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DriverPoolMetrics{size=%d, idle=%d, created=%d, evicted=%d, borrowed=%d, reuseRate=%.2f, avgWaitMs=%.3f, maxWaitMs=%.3f}",
+                size, idle, created, evicted, borrowed, getReuseRate(), averageWaitMillis, maxWaitMillis);
+    }
+}
@@ -0,0 +1,155 @@
+package com.dom;
+
+import com.enums.LocatorPlatform;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.ios.IOSDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Drivers and the per driver helpers (Actions, JavascriptExecutor, waits, element cache) owned by one worker.
+ * DriverManager binds a session to each thread, an explicit session can be bound with DriverManager.setSession.
+ */
+public class DriverSession {
+    private static final Logger log = LogManager.getLogger(DriverSession.class.getName());
+    private WebDriver webDriver;
+    private IOSDriver iosDriver;
+    private AndroidDriver androidDriver;
+    private final Map<LocatorPlatform, Actions> actions = new EnumMap<>(LocatorPlatform.class);
+    private final Map<LocatorPlatform, WebDriverWait> adaptiveWaits = new EnumMap<>(LocatorPlatform.class);
+    private final Map<LocatorPlatform, ElementCache> elementCaches = new EnumMap<>(LocatorPlatform.class);
+    private JavascriptExecutor jsExecutor;
+    private BrowserProfile webProfile;
+    private Duration scriptTimeout;
+
+    WebDriver getWebDriver() {
+        return webDriver;
+    }
+
+    void setWebDriver(WebDriver webDriver) {
+        this.webDriver = webDriver;
+        if (webDriver != null)
+            DriverManager.trackSession(this);
+    }
+
+    BrowserProfile getWebProfile() {
+        return webProfile;
+    }
+
+    void setWebProfile(BrowserProfile webProfile) {
+        this.webProfile = webProfile;
+    }
+
+    IOSDriver getIosDriver() {
+        return iosDriver;
+    }
+
+    void setIosDriver(IOSDriver iosDriver) {
+        this.iosDriver = iosDriver;
+        if (iosDriver != null)
+            DriverManager.trackSession(this);
+    }
+
+    AndroidDriver getAndroidDriver() {
+        return androidDriver;
+    }
+
+    void setAndroidDriver(AndroidDriver androidDriver) {
+        this.androidDriver = androidDriver;
+        if (androidDriver != null)
+            DriverManager.trackSession(this);
+    }
+
+    RemoteWebDriver getDriver(LocatorPlatform locatorPlatform) {
+        switch (locatorPlatform) {
+            case WEB:
+                if (webDriver == null)
+                    throw new WebDriverException("WebDriver not yet initialised!");
+                return (RemoteWebDriver) webDriver;
+            case IOS:
+                if (iosDriver == null)
+                    throw new WebDriverException("IosDriver not yet initialised!");
+                return iosDriver;
+            case ANDROID:
+                if (androidDriver == null)
+                    throw new WebDriverException("Android Driver not yet initialised!");
+                return androidDriver;
+            default:
+                throw new IllegalArgumentException("Invalid platform: " + locatorPlatform);
+        }
+    }
+
+    synchronized Actions getActions(LocatorPlatform locatorPlatform) {
+        return actions.computeIfAbsent(locatorPlatform, platform -> {
+            log.info("{} actions initialized successfully!", platform);
+            return new Actions(getDriver(platform));
+        });
+    }
+
+    synchronized JavascriptExecutor getJsExecutor() {
+        if (jsExecutor == null) {
+            RemoteWebDriver driver = getDriver(LocatorPlatform.WEB);
+            if (scriptTimeout == null)
+                setScriptTimeout(Duration.ofSeconds(5));
+            jsExecutor = driver;
+            log.info("Javascript executor initialized successfully for WEB");
+        }
+        return jsExecutor;
+    }
+
+    synchronized void setScriptTimeout(Duration timeout) {
+        getDriver(LocatorPlatform.WEB).manage().timeouts().scriptTimeout(timeout);
+        scriptTimeout = timeout;
+    }
+
+    /**
+     * Raises the WEB script timeout when an async script needs longer, skipping the round trip otherwise
+     */
+    synchronized void ensureScriptTimeout(Duration timeout) {
+        if (scriptTimeout == null || scriptTimeout.compareTo(timeout) < 0)
+            setScriptTimeout(timeout);
+    }
+
+    synchronized WebDriverWait getAdaptiveWait(LocatorPlatform locatorPlatform, Duration timeout) {
+        return adaptiveWaits.computeIfAbsent(locatorPlatform, platform -> new WebDriverWait(getDriver(platform), timeout));
+    }
+
+    synchronized ElementCache getElementCache(LocatorPlatform locatorPlatform) {
+        return elementCaches.computeIfAbsent(locatorPlatform, platform -> new ElementCache());
+    }
+
+    /**
+     * Drops helpers bound to the platform driver so they are rebuilt for the next driver
+     */
+    synchronized void release(LocatorPlatform locatorPlatform) {
+        actions.remove(locatorPlatform);
+        adaptiveWaits.remove(locatorPlatform);
+        if (locatorPlatform == LocatorPlatform.WEB) {
+            jsExecutor = null;
+            scriptTimeout = null;
+        }
+        elementCaches.remove(locatorPlatform);
+    }
+
+    public boolean isActive() {
+        return webDriver != null || iosDriver != null || androidDriver != null;
+    }
+
+    /**
+     * Quits every driver owned by the session
+     */
+    public void quit() {
+        for (LocatorPlatform locatorPlatform : LocatorPlatform.values()) {
+            DriverManager.quitDriverInstance(this, locatorPlatform);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.dom;
+
+import org.openqa.selenium.WebElement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * LRU element cache of one driver, entries belong to the page generation they were found in.
+ * Lookups between interactions are served without a browser round trip. After an interaction WEB compares the
+ * current URL once and serves hits of an unchanged page as they are, a handle left stale by a re-render is resolved
+ * again by its caller. Platforms without URLs re-validate each looked up element once per interaction instead.
+ */
+public class ElementCache {
+    private static volatile int defaultMaxSize = 256;
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+    private long generation;
+    private long epoch;
+    private long checkedEpoch;
+    private String pageUrl;
+    private long hits;
+    private long misses;
+    private long stale;
+
+    ElementCache() {
+        this.maxSize = defaultMaxSize;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    static void setDefaultMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be a positive value");
+        }
+        defaultMaxSize = maxSize;
+    }
+
+    /**
+     * @param pageMarker current page URL supplier, null on platforms without URLs
+     * @param validator  per element staleness check run on the first lookup after an interaction when there is no
+     *                   page marker
+     */
+    synchronized WebElement get(String locatorName, Supplier<String> pageMarker, Predicate<WebElement> validator) {
+        Entry entry = entries.get(locatorName);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.generation == generation && entry.epoch != epoch) {
+            if (pageMarker != null) {
+                if (epoch != checkedEpoch) {
+                    String url = pageMarker.get();
+                    if (!Objects.equals(url, pageUrl))
+                        nextGeneration(url);
+                    checkedEpoch = epoch;
+                }
+            } else if (!validator.test(entry.element)) {
+                entry.generation = -1;
+            }
+            if (entry.generation == generation)
+                entry.epoch = epoch;
+        }
+        if (entry.generation != generation) {
+            if (entries.remove(locatorName) != null)
+                stale++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.element;
+    }
+
+    synchronized void put(String locatorName, WebElement element) {
+        entries.put(locatorName, new Entry(element, generation, epoch));
+    }
+
+    synchronized boolean contains(String locatorName) {
+        Entry entry = entries.get(locatorName);
+        return entry != null && entry.generation == generation;
+    }
+
+    synchronized void remove(String locatorName) {
+        if (entries.remove(locatorName) != null)
+            stale++;
+    }
+
+    /**
+     * Called after an interaction which may have changed the page
+     */
+    synchronized void markInteraction() {
+        epoch++;
+    }
+
+    /**
+     * Starts a new page generation, dropping every cached element
+     */
+    synchronized void nextGeneration(String url) {
+        generation++;
+        stale += entries.size();
+        entries.clear();
+        if (url != null)
+            pageUrl = url;
+        checkedEpoch = epoch;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getStaleCount() {
+        return stale;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ElementCache{size=" + entries.size() + ", generation=" + generation + ", hits=" + hits
+                + ", misses=" + misses + ", stale=" + stale + "}";
+    }
+
+    private static class Entry {
+        private final WebElement element;
+        private long generation;
+        private long epoch;
+
+        private Entry(WebElement element, long generation, long epoch) {
+            this.element = element;
+            this.generation = generation;
+            this.epoch = epoch;
+        }
+    }
+}
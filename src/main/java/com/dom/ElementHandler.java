@@ -6,12 +6,17 @@ import io.appium.java_client.AppiumBy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.concurrent.TimeUnit;
 
 public class ElementHandler extends CacheManager {
     private static final Logger log = LogManager.getLogger(ElementHandler.class.getName());
+    private static volatile RetryPolicy retryPolicy = RetryPolicy.defaultPolicy();
+    private static final ThreadLocal<XPath> XPATH_COMPILER = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
 
     public static By getLocator(LocatorType locatorType, String locatorValue) {
-        log.debug("Getting {} locator for value: {}", locatorType, locatorValue);
         switch (locatorType) {
             case XPATH:
                 return By.xpath(locatorValue);
@@ -35,26 +40,96 @@ public class ElementHandler extends CacheManager {
         return null;
     }
 
+    /**
+     * Validates the locator value and builds its By once, so invalid locators fail at LocatorModel construction
+     */
+    static By compileLocator(LocatorType locatorType, String locatorValue) {
+        if (locatorType == null)
+            throw new IllegalArgumentException("Locator type is required");
+        if (locatorValue == null || locatorValue.isBlank())
+            throw new IllegalArgumentException(locatorType + " locator value is required");
+        switch (locatorType) {
+            case XPATH:
+                try {
+                    XPATH_COMPILER.get().compile(locatorValue);
+                } catch (XPathExpressionException e) {
+                    throw new IllegalArgumentException("Invalid XPATH locator: " + locatorValue, e);
+                }
+                break;
+            case CSS:
+            case CHAIN:
+            case PREDICATE:
+                checkBalanced(locatorType, locatorValue);
+                break;
+        }
+        log.debug("Compiled {} locator for value: {}", locatorType, locatorValue);
+        return getLocator(locatorType, locatorValue);
+    }
+
+    private static void checkBalanced(LocatorType locatorType, String locatorValue) {
+        StringBuilder open = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < locatorValue.length(); i++) {
+            char c = locatorValue.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (quote != 0) {
+                if (c == quote)
+                    quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                open.append(c);
+            } else if (c == ']' || c == ')') {
+                if (open.length() == 0 || open.charAt(open.length() - 1) != (c == ']' ? '[' : '('))
+                    throw new IllegalArgumentException("Invalid " + locatorType + " locator, unbalanced '" + c + "': " + locatorValue);
+                open.setLength(open.length() - 1);
+            }
+        }
+        if (quote != 0 || open.length() != 0)
+            throw new IllegalArgumentException("Invalid " + locatorType + " locator, unclosed " + (quote != 0 ? "quote" : "bracket") + ": " + locatorValue);
+    }
+
+    /**
+     * Policy applied to element resolution in getElement and the presence polling in stepDown
+     */
+    public static void setRetryPolicy(RetryPolicy policy) {
+        retryPolicy = policy;
+        log.info("Element retry policy set to {}", policy);
+    }
+
+    public static RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
     private static boolean edgeElementHandler(LocatorModel locatorModel) {
-        log.error("Handling additional 5 seconds for element to be available in DOM");
-        int sec = 5;
+        RetryPolicy policy = retryPolicy;
+        log.warn("Polling up to {} ms for {} element to be available in DOM", policy.getDeadline().toMillis(), locatorModel.getLocatorName());
         WebDriver driver = DriverManager.getDriverInstance(locatorModel.getLocatorPlatform());
-        By locator = getLocator(locatorModel.getLocatorType(), locatorModel.getLocatorValue());
-        while (sec > 0) {
-            try {
-                Thread.sleep(1000);
-                if (!driver.findElements(locator).isEmpty()) {
-                    log.error("Successfully found element in DOM");
-                    return true;
-                }
-                sec--;
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+        By locator = locatorModel.getLocator();
+        long deadline = System.nanoTime() + policy.getDeadline().toNanos();
+        for (int attempt = 1; attempt <= policy.getMaxAttempts(); attempt++) {
+            if (!driver.findElements(locator).isEmpty()) {
+                log.warn("Successfully found element in DOM after {} attempts", attempt);
+                return true;
             }
+            long wait = policy.getIntervalMillis(attempt + 1);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(wait) > deadline)
+                break;
+            sleep(wait);
         }
         return false;
     }
 
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for element", e);
+        }
+    }
+
     private static boolean handleException(Exception e, ElementState elementState) {
         log.error("Handling {} for ElementState: {}", e, elementState);
         if (e instanceof TimeoutException)
@@ -79,7 +154,7 @@ public class ElementHandler extends CacheManager {
     public static boolean stepDown(Exception e, LocatorModel locatorModel, ElementState elementState) {
         log.error("Stepping further down to handle locator: {}", locatorModel.getLocatorName());
         if (e instanceof StaleElementReferenceException)
-            removeCacheLocator(locatorModel.getLocatorName());
+            removeCacheLocator(locatorModel);
         boolean state = handleException(e, elementState);
         if (!state) {
             return edgeElementHandler(locatorModel);
@@ -87,24 +162,52 @@ public class ElementHandler extends CacheManager {
         return false;
     }
 
+    /**
+     * Resolves the element, retrying retryable failures within the retry policy bounds and rethrowing the last failure
+     */
     public static WebElement getElement(LocatorModel locatorModel, ElementState elementState) {
         String locatorName = locatorModel.getLocatorName();
-        log.info("Getting {} locator element", locatorName);
-        WebElement element = null;
-        try {
-            if (containsCacheLocator(locatorName)) {
-                element = getCachedElement(locatorName);
-                element.isDisplayed();
+        log.debug("Getting {} locator element", locatorName);
+        RetryPolicy policy = retryPolicy;
+        long start = System.nanoTime();
+        long deadline = start + policy.getDeadline().toNanos();
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            try {
+                // A stale cached handle would satisfy an absence check after a re-render, so absence is checked on a fresh lookup
+                WebElement element = isAbsenceState(elementState) ? null : getCachedElement(locatorModel);
+                if (element == null) {
+                    element = DriverManager.getDriverInstance(locatorModel.getLocatorPlatform())
+                            .findElement(locatorModel.getLocator());
+                    cacheElement(locatorModel, element);
+                    log.debug("{} Locator element found successfully", locatorName);
+                }
+                LocatorTimings.record(locatorName, System.nanoTime() - start, attempt, true);
                 return element;
+            } catch (WebDriverException e) {
+                if (e instanceof StaleElementReferenceException)
+                    removeCacheLocator(locatorModel);
+                long wait = policy.getIntervalMillis(attempt + 1);
+                if (!policy.isRetryable(e) || isAbsenceExpected(e, elementState) || attempt >= policy.getMaxAttempts()
+                        || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(wait) > deadline) {
+                    LocatorTimings.record(locatorName, System.nanoTime() - start, attempt, false);
+                    log.debug("Giving up on {} locator after {} attempts: {}", locatorName, attempt, e.getClass().getSimpleName());
+                    throw e;
+                }
+                sleep(wait);
             }
-            element = DriverManager.getDriverInstance(locatorModel.getLocatorPlatform())
-                    .findElement(getLocator(locatorModel.getLocatorType(), locatorModel.getLocatorValue()));
-            cacheElement(locatorName, element);
-            log.info("{} Locator element found successfully", locatorName);
-        } catch (Exception e) {
-            if (!stepDown(e, locatorModel, elementState))
-                return getElement(locatorModel, elementState);
         }
-        return element;
     }
-}
\ No newline at end of file
+
+    /**
+     * A missing element already satisfies NotPresent/Invisible so there is nothing to retry
+     */
+    static boolean isAbsenceExpected(Exception e, ElementState elementState) {
+        return isAbsenceState(elementState) && (e instanceof NoSuchElementException || e instanceof StaleElementReferenceException);
+    }
+
+    private static boolean isAbsenceState(ElementState elementState) {
+        return elementState == ElementState.NotPresent || elementState == ElementState.Invisible;
+    }
+}
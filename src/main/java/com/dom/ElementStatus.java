@@ -0,0 +1,73 @@
+package com.dom;
+
+import com.enums.ElementState;
+import org.openqa.selenium.Rectangle;
+
+public class ElementStatus {
+    private final String locatorName;
+    private final boolean present;
+    private final boolean visible;
+    private final boolean enabled;
+    private final Rectangle rect;
+
+    ElementStatus(String locatorName, boolean present, boolean visible, boolean enabled, Rectangle rect) {
+        this.locatorName = locatorName;
+        this.present = present;
+        this.visible = visible;
+        this.enabled = enabled;
+        this.rect = rect;
+    }
+
+    static ElementStatus absent(String locatorName) {
+        return new ElementStatus(locatorName, false, false, false, null);
+    }
+
+    public String getLocatorName() {
+        return locatorName;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Page coordinates and size, null when the element is not present
+     */
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    public boolean matches(ElementState elementState) {
+        switch (elementState) {
+            case Present:
+                return present;
+            case NotPresent:
+                return !present;
+            case Visible:
+                return visible;
+            case Invisible:
+                return !visible;
+            case Enabled:
+            case Clickable:
+                return visible && enabled;
+            case Disabled:
+                return present && !enabled;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementStatus{locator=" + locatorName + ", present=" + present + ", visible=" + visible
+                + ", enabled=" + enabled + ", rect=" + (rect == null ? null : rect.getX() + "," + rect.getY() + " "
+                + rect.getWidth() + "x" + rect.getHeight()) + "}";
+    }
+}
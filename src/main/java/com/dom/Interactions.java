@@ -6,18 +6,25 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Interactions extends WaitManager {
     private static final Logger log = LogManager.getLogger(Interactions.class.getName());
 
     public static void enterText(LocatorModel locatorModel, String text, boolean clearText) throws InvalidElementStateException {
         log.info("Entering {} text by clearing the {} locator field", text, locatorModel.getLocatorName());
-        boolean fieldState = isElement(ElementState.Enabled, locatorModel);
-        if (fieldState) {
+        WebElement element = getReadyElement(ElementState.Enabled, locatorModel);
+        if (element != null) {
             if (clearText)
-                getElement(locatorModel, ElementState.Enabled).clear();
-            getElement(locatorModel, ElementState.Enabled).sendKeys(text);
+                element.clear();
+            element.sendKeys(text);
+            markInteraction(locatorModel.getLocatorPlatform());
             log.info("{} text entered successfully!", text);
         } else
             throw new InvalidElementStateException("Text field is not intractable");
@@ -25,43 +32,51 @@ public class Interactions extends WaitManager {
 
     public static void click(LocatorModel locatorModel) throws ElementClickInterceptedException {
         log.info("Clicking on {} locator", locatorModel.getLocatorName());
-        boolean eleState = isElement(ElementState.Clickable, locatorModel);
-        if (eleState) {
-            getElement(locatorModel, ElementState.Clickable).click();
+        WebElement element = getReadyElement(ElementState.Clickable, locatorModel);
+        if (element != null) {
+            element.click();
+            markInteraction(locatorModel.getLocatorPlatform());
             log.info("{} locator clicked successfully!", locatorModel.getLocatorName());
         } else
             throw new ElementClickInterceptedException("Element is not intractable");
     }
 
     public static class UserActions {
-        private static Actions actions;
-
         private static Actions getActions(LocatorPlatform locatorPlatform) {
-            if (actions == null) {
-                actions = new Actions(DriverManager.getDriverInstance(locatorPlatform));
-                log.info("{} actions initialized successfully!", locatorPlatform);
-            }
-            return actions;
+            return DriverManager.getSession().getActions(locatorPlatform);
+        }
+
+        /**
+         * Starts a chain of actions submitted together in one perform call, e.g. filling a whole form
+         */
+        public static ActionChain chain(LocatorPlatform locatorPlatform) {
+            return new ActionChain(locatorPlatform);
         }
 
         private static HashMap<String, Integer> getCenterPoints(LocatorModel locatorModel) {
-            Point location = getElement(locatorModel, ElementState.Present).getLocation();
-            Dimension size = getElement(locatorModel, ElementState.Present).getSize();
+            Rectangle rect;
+            try {
+                rect = getElement(locatorModel, ElementState.Present).getRect();
+            } catch (StaleElementReferenceException e) {
+                removeCacheLocator(locatorModel);
+                rect = getElement(locatorModel, ElementState.Present).getRect();
+            }
             return new HashMap<>() {
                 {
-                    put("centerX", location.getX() + size.getWidth() / 2);
-                    put("centerY", location.getY() + size.getHeight() / 2);
+                    put("centerX", rect.getX() + rect.getWidth() / 2);
+                    put("centerY", rect.getY() + rect.getHeight() / 2);
                 }
             };
         }
 
         public static void enterText(LocatorModel locatorModel, String text) throws InvalidElementStateException {
             log.info("Entering {} text into {} locator field", text, locatorModel.getLocatorName());
-            boolean fieldState = isElement(ElementState.Enabled, locatorModel);
-            if (fieldState) {
+            WebElement element = getReadyElement(ElementState.Enabled, locatorModel);
+            if (element != null) {
                 getActions(locatorModel.getLocatorPlatform())
-                        .sendKeys(getElement(locatorModel, ElementState.Enabled), text)
+                        .sendKeys(element, text)
                         .build().perform();
+                markInteraction(locatorModel.getLocatorPlatform());
                 log.info("{} text entered successfully!", text);
             } else
                 throw new InvalidElementStateException("Text field is not intractable");
@@ -69,11 +84,12 @@ public class Interactions extends WaitManager {
 
         public static void click(LocatorModel locatorModel) throws ElementClickInterceptedException {
             log.info("Clicking on {} locator", locatorModel.getLocatorName());
-            boolean eleState = isElement(ElementState.Clickable, locatorModel);
-            if (eleState) {
+            WebElement element = getReadyElement(ElementState.Clickable, locatorModel);
+            if (element != null) {
                 getActions(locatorModel.getLocatorPlatform())
-                        .click(getElement(locatorModel, ElementState.Clickable))
+                        .click(element)
                         .build().perform();
+                markInteraction(locatorModel.getLocatorPlatform());
                 log.info("{} locator clicked successfully!", locatorModel.getLocatorName());
             } else
                 throw new ElementClickInterceptedException("Element is not intractable");
@@ -81,11 +97,12 @@ public class Interactions extends WaitManager {
 
         public static void doubleClick(LocatorModel locatorModel) throws ElementClickInterceptedException {
             log.info("Double clicking on {} locator", locatorModel.getLocatorName());
-            boolean eleState = isElement(ElementState.Clickable, locatorModel);
-            if (eleState) {
+            WebElement element = getReadyElement(ElementState.Clickable, locatorModel);
+            if (element != null) {
                 getActions(locatorModel.getLocatorPlatform())
-                        .doubleClick(getElement(locatorModel, ElementState.Clickable))
+                        .doubleClick(element)
                         .build().perform();
+                markInteraction(locatorModel.getLocatorPlatform());
                 log.info("{} locator double clicked successfully!", locatorModel.getLocatorName());
             } else
                 throw new ElementClickInterceptedException("Element is not intractable");
@@ -93,11 +110,12 @@ public class Interactions extends WaitManager {
 
         public static void rightClick(LocatorModel locatorModel) throws ElementClickInterceptedException {
             log.info("Right clicking on {} locator", locatorModel.getLocatorName());
-            boolean eleState = isElement(ElementState.Clickable, locatorModel);
-            if (eleState) {
+            WebElement element = getReadyElement(ElementState.Clickable, locatorModel);
+            if (element != null) {
                 getActions(locatorModel.getLocatorPlatform())
-                        .contextClick(getElement(locatorModel, ElementState.Clickable))
+                        .contextClick(element)
                         .build().perform();
+                markInteraction(locatorModel.getLocatorPlatform());
                 log.info("{} locator right clicked successfully!", locatorModel.getLocatorName());
             } else
                 throw new ElementClickInterceptedException("Element is not intractable");
@@ -105,12 +123,13 @@ public class Interactions extends WaitManager {
 
         public static void dragAndDrop(LocatorModel sourceLocatorModel, LocatorModel destLocatorModel) throws ElementClickInterceptedException {
             log.info("Dragging {} source locator to {} destination locator", sourceLocatorModel.getLocatorName(), destLocatorModel.getLocatorName());
-            boolean sourceEleState = isElement(ElementState.Clickable, sourceLocatorModel);
-            boolean destEleState = isElement(ElementState.Clickable, sourceLocatorModel);
-            if (sourceEleState || destEleState) {
+            WebElement source = getReadyElement(ElementState.Clickable, sourceLocatorModel);
+            WebElement destination = source != null ? getReadyElement(ElementState.Clickable, destLocatorModel) : null;
+            if (destination != null) {
                 getActions(sourceLocatorModel.getLocatorPlatform())
-                        .dragAndDrop(getElement(sourceLocatorModel, ElementState.Clickable), getElement(destLocatorModel, ElementState.Clickable))
+                        .dragAndDrop(source, destination)
                         .build().perform();
+                markInteraction(sourceLocatorModel.getLocatorPlatform());
                 log.info("{} locator got dragged successfully!", sourceLocatorModel.getLocatorName());
             } else
                 throw new ElementClickInterceptedException("Element is not intractable");
@@ -120,22 +139,124 @@ public class Interactions extends WaitManager {
     }
 
     public static class JSExecutor {
-        private static JavascriptExecutor jsExecutor;
+        private static final Map<String, String> registeredScripts = new ConcurrentHashMap<>();
 
         private static JavascriptExecutor getJsExecutor() {
-            if (jsExecutor == null) {
-                DriverManager.setScriptTimeOut(5);
-                jsExecutor = DriverManager.getDriverInstance(LocatorPlatform.WEB);
-                log.info("Javascript executor initialized successfully for WEB");
+            return DriverManager.getSession().getJsExecutor();
+        }
+
+        /**
+         * Registers a script body, read its values from arguments like executeScript, under a name. The browser
+         * compiles it once per page on first use and later executions only send the name and arguments.
+         */
+        public static void registerScript(String name, String script) {
+            registeredScripts.put(name, script);
+            log.debug("{} script registered", name);
+        }
+
+        public static Object executeScript(String name, Object... args) {
+            String script = registeredScripts.get(name);
+            if (script == null)
+                throw new IllegalArgumentException("Script not registered: " + name);
+            List<Object> arguments = Arrays.asList(args);
+            // Keyed by body as well, so registering a name again compiles the new body instead of running the old one
+            String key = name + "@" + Integer.toHexString(script.hashCode());
+            Map<?, ?> result = (Map<?, ?>) getJsExecutor().executeScript(DomScripts.INVOKE_SCRIPT, key, arguments);
+            if (!Boolean.TRUE.equals(result.get("registered"))) {
+                log.debug("Compiling {} script on the current page", name);
+                result = (Map<?, ?>) getJsExecutor().executeScript(DomScripts.REGISTER_SCRIPT, key, script, arguments);
+            }
+            return result.get("value");
+        }
+
+        /**
+         * Fills many fields in one executeScript round trip
+         */
+        public static void enterTexts(Map<LocatorModel, String> fields) throws InvalidElementStateException {
+            log.info("Sending text into {} locator fields using JSExecutor", fields.size());
+            List<LocatorModel> locatorModels = new ArrayList<>(fields.keySet());
+            List<?> results;
+            try {
+                results = (List<?>) getJsExecutor().executeScript(DomScripts.FILL_FIELDS_SCRIPT, toFillEntries(fields, locatorModels));
+            } catch (StaleElementReferenceException e) {
+                removeScriptElements(locatorModels);
+                results = (List<?>) getJsExecutor().executeScript(DomScripts.FILL_FIELDS_SCRIPT, toFillEntries(fields, locatorModels));
+            }
+            markInteraction(LocatorPlatform.WEB);
+            List<String> failed = new ArrayList<>();
+            for (int i = 0; i < locatorModels.size(); i++) {
+                if (!Boolean.TRUE.equals(results.get(i)))
+                    failed.add(locatorModels.get(i).getLocatorName());
+            }
+            if (!failed.isEmpty())
+                throw new InvalidElementStateException("Text fields are not intractable: " + failed);
+            log.info("{} text fields filled successfully!", locatorModels.size());
+        }
+
+        /**
+         * Reads a property such as innerHTML, or an attribute, of many elements in one executeScript round trip.
+         * Missing elements map to null.
+         */
+        public static Map<String, String> getProperties(List<LocatorModel> locatorModels, String property) {
+            log.info("Getting {} of {} locators using JSExecutor", property, locatorModels.size());
+            List<?> results;
+            try {
+                results = (List<?>) getJsExecutor().executeScript(DomScripts.READ_PROPERTY_SCRIPT, toScriptEntries(locatorModels), property);
+            } catch (StaleElementReferenceException e) {
+                removeScriptElements(locatorModels);
+                results = (List<?>) getJsExecutor().executeScript(DomScripts.READ_PROPERTY_SCRIPT, toScriptEntries(locatorModels), property);
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < locatorModels.size(); i++) {
+                Object value = results.get(i);
+                values.put(locatorModels.get(i).getLocatorName(), value == null ? null : value.toString());
+            }
+            return values;
+        }
+
+        private static List<List<Object>> toFillEntries(Map<LocatorModel, String> fields, List<LocatorModel> locatorModels) {
+            List<List<Object>> entries = toScriptEntries(locatorModels);
+            for (int i = 0; i < locatorModels.size(); i++) {
+                entries.get(i).add(fields.get(locatorModels.get(i)));
+            }
+            return entries;
+        }
+
+        private static List<List<Object>> toScriptEntries(List<LocatorModel> locatorModels) {
+            List<List<Object>> entries = new ArrayList<>(locatorModels.size());
+            for (LocatorModel locatorModel : locatorModels) {
+                entries.add(toScriptEntry(locatorModel));
             }
-            return jsExecutor;
+            return entries;
+        }
+
+        /**
+         * A driver resolved handle went stale in a re-render, drop those from the cache so the retry finds them again
+         */
+        private static void removeScriptElements(List<LocatorModel> locatorModels) {
+            for (LocatorModel locatorModel : locatorModels) {
+                if (!DomScripts.isResolvable(locatorModel))
+                    removeCacheLocator(locatorModel);
+            }
+        }
+
+        /**
+         * Locators the browser can resolve itself are sent as type and value, others are resolved by the driver first
+         */
+        private static List<Object> toScriptEntry(LocatorModel locatorModel) {
+            List<Object> entry = new ArrayList<>(4);
+            entry.add(DomScripts.isResolvable(locatorModel) ? null : getElement(locatorModel, ElementState.Present));
+            entry.add(locatorModel.getLocatorType().name());
+            entry.add(locatorModel.getLocatorValue());
+            return entry;
         }
 
         public static void enterText(LocatorModel locatorModel, String text) throws InvalidElementStateException {
             log.info("Sending {} text into {} locator field using JSExecutor", text, locatorModel.getLocatorName());
-            boolean fieldState = isElement(ElementState.Enabled, locatorModel);
-            if (fieldState) {
-                getJsExecutor().executeScript("arguments[0].value= '" + text + "';", getElement(locatorModel, ElementState.Enabled));
+            WebElement element = getReadyElement(ElementState.Enabled, locatorModel);
+            if (element != null) {
+                getJsExecutor().executeScript("arguments[0].value = arguments[1];", element, text);
+                markInteraction(locatorModel.getLocatorPlatform());
                 log.info("{} text sent successfully!", text);
             } else
                 throw new InvalidElementStateException("Text field is not intractable");
@@ -143,9 +264,10 @@ public class Interactions extends WaitManager {
 
         public static void click(LocatorModel locatorModel) throws ElementClickInterceptedException {
             log.info("Clicking on {} locator using JSExecutor", locatorModel.getLocatorName());
-            boolean eleState = isElement(ElementState.Clickable, locatorModel);
-            if (eleState) {
-                getJsExecutor().executeScript("arguments[0].click();", getElement(locatorModel, ElementState.Clickable));
+            WebElement element = getReadyElement(ElementState.Clickable, locatorModel);
+            if (element != null) {
+                getJsExecutor().executeScript("arguments[0].click();", element);
+                markInteraction(locatorModel.getLocatorPlatform());
                 log.info("{} locator clicked successfully!", locatorModel.getLocatorName());
             } else
                 throw new ElementClickInterceptedException("Element is not intractable");
@@ -153,10 +275,10 @@ public class Interactions extends WaitManager {
 
         public static String getText(LocatorModel locatorModel) throws InvalidElementStateException {
             log.info("Getting text of {} locator using JSExecutor", locatorModel.getLocatorName());
-            boolean eleState = isElement(ElementState.Present, locatorModel);
+            WebElement element = getReadyElement(ElementState.Present, locatorModel);
             String text;
-            if (eleState) {
-                text = getJsExecutor().executeScript("return arguments[0].innerHTML;", getElement(locatorModel, ElementState.Present)).toString();
+            if (element != null) {
+                text = getJsExecutor().executeScript("return arguments[0].innerHTML;", element).toString();
                 log.info("{} locator text fetched successfully!", locatorModel.getLocatorName());
             } else
                 throw new InvalidElementStateException("Argument field is not intractable");
@@ -165,15 +287,16 @@ public class Interactions extends WaitManager {
 
         public static void touchAndHold(LocatorModel locatorModel, int duration){
             log.info("Touching and holding {} locator for {} seconds", locatorModel.getLocatorName(), duration);
-            boolean eleState = isElement(ElementState.Present, locatorModel);
-            if (eleState){
+            WebElement element = getReadyElement(ElementState.Present, locatorModel);
+            if (element != null){
                 DriverManager.getDriverInstance(locatorModel.getLocatorPlatform()).executeScript("mobile: touchAndHold",
                         new HashMap<String, Object>(){
                             {
-                                put("element", getElement(locatorModel, ElementState.Clickable));
+                                put("element", element);
                                 put("duration", duration);
                             }
                         });
+                markInteraction(locatorModel.getLocatorPlatform());
                 log.info("{} locator got touch and hold successfully!", locatorModel.getLocatorName());
             } else
                 throw new InvalidElementStateException("Element is not intractable");
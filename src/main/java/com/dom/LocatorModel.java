@@ -2,18 +2,21 @@ package com.dom;
 
 import com.enums.LocatorPlatform;
 import com.enums.LocatorType;
+import org.openqa.selenium.By;
 
 public class LocatorModel {
     private final LocatorPlatform locatorPlatform;
     private final String locatorName;
     private final LocatorType locatorType;
     private final String locatorValue;
+    private final By locator;
 
     public LocatorModel(LocatorPlatform locatorPlatform, String locatorName, LocatorType locatorType, String locatorValue){
         this.locatorPlatform = locatorPlatform;
         this.locatorName = locatorName;
         this.locatorType = locatorType;
         this.locatorValue = locatorValue;
+        this.locator = ElementHandler.compileLocator(locatorType, locatorValue);
     }
 
     public LocatorPlatform getLocatorPlatform() { return locatorPlatform; }
@@ -29,4 +32,11 @@ public class LocatorModel {
     public String getLocatorValue(){
         return locatorValue;
     }
+
+    /**
+     * By built and validated once at construction
+     */
+    public By getLocator(){
+        return locator;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.dom;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per locator resolution timings recorded by ElementHandler
+ */
+public class LocatorTimings {
+    private static final Map<String, Stats> timings = new ConcurrentHashMap<>();
+
+    static void record(String locatorName, long nanos, int attempts, boolean found) {
+        timings.computeIfAbsent(locatorName, key -> new Stats()).record(nanos, attempts, found);
+    }
+
+    public static Stats get(String locatorName) {
+        return timings.get(locatorName);
+    }
+
+    /**
+     * Snapshot of every locator ordered by name
+     */
+    public static Map<String, Stats> getAll() {
+        return new TreeMap<>(timings);
+    }
+
+    public static void reset() {
+        timings.clear();
+    }
+
+    public static class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos, int attemptCount, boolean found) {
+            calls.increment();
+            attempts.add(attemptCount);
+            if (!found)
+                failures.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getAttempts() {
+            return attempts.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public double getTotalMillis() {
+            return totalNanos.sum() / 1_000_000.0;
+        }
+
+        public double getAverageMillis() {
+            long count = calls.sum();
+            return count == 0 ? 0 : totalNanos.sum() / (double) count / 1_000_000;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d, attempts=%d, failures=%d, totalMs=%.1f, avgMs=%.1f, maxMs=%.1f",
+                    getCalls(), getAttempts(), getFailures(), getTotalMillis(), getAverageMillis(), getMaxMillis());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.dom;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded retry and backoff for element resolution, used by ElementHandler in place of recursion and fixed sleeps
+ */
+public class RetryPolicy {
+    private int maxAttempts = 10;
+    private Duration deadline = Duration.ofSeconds(5);
+    private Duration initialInterval = Duration.ofMillis(50);
+    private Duration maxInterval = Duration.ofMillis(1000);
+    private double multiplier = 2.0;
+    private boolean jitter = true;
+    private final List<Class<? extends Throwable>> retryableExceptions = new ArrayList<>(
+            List.of(NoSuchElementException.class, StaleElementReferenceException.class));
+
+    public static RetryPolicy defaultPolicy() {
+        return new RetryPolicy();
+    }
+
+    /**
+     * Single attempt without waiting, for callers doing their own waiting
+     */
+    public static RetryPolicy noRetry() {
+        return new RetryPolicy().setMaxAttempts(1);
+    }
+
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be a positive value");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Total time budget across all attempts including waits
+     */
+    public RetryPolicy setDeadline(Duration deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Wait before the second attempt, later waits grow by multiplier up to maxInterval
+     */
+    public RetryPolicy setBackoff(Duration initialInterval, double multiplier, Duration maxInterval) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be at least 1.0");
+        }
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+        this.maxInterval = maxInterval;
+        return this;
+    }
+
+    /**
+     * Randomises each wait between half and the full interval so parallel sessions don't poll in lockstep
+     */
+    public RetryPolicy setJitter(boolean jitter) {
+        this.jitter = jitter;
+        return this;
+    }
+
+    @SafeVarargs
+    public final RetryPolicy setRetryableExceptions(Class<? extends Throwable>... exceptionClasses) {
+        retryableExceptions.clear();
+        retryableExceptions.addAll(List.of(exceptionClasses));
+        return this;
+    }
+
+    public boolean isRetryable(Throwable throwable) {
+        for (Class<? extends Throwable> exceptionClass : retryableExceptions) {
+            if (exceptionClass.isInstance(throwable))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wait in milliseconds before the given retry attempt (2 for the first retry)
+     */
+    long getIntervalMillis(int attempt) {
+        double interval = initialInterval.toMillis() * Math.pow(multiplier, Math.max(0, attempt - 2));
+        long millis = (long) Math.min(interval, maxInterval.toMillis());
+        if (jitter && millis > 1)
+            millis = millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1);
+        return millis;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", deadline=" + deadline.toMillis() + "ms, initialInterval="
+                + initialInterval.toMillis() + "ms, multiplier=" + multiplier + ", maxInterval=" + maxInterval.toMillis()
+                + "ms, jitter=" + jitter + "}";
+    }
+}
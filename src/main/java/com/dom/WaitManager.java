@@ -1,51 +1,45 @@
 package com.dom;
 
 import com.enums.ElementState;
+import com.enums.LocatorPlatform;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 public class WaitManager extends ElementHandler {
     private static final Logger log = LogManager.getLogger(WaitManager.class.getName());
     private static final int DEFAULT_WAIT_SECONDS = 5;
-    private static WebDriverWait adaptiveWait;
-    private static final ConcurrentHashMap<WebDriver, FluentWait<WebDriver>> fluentWaitMap = new ConcurrentHashMap<>();
+    private static final long MIN_POLL_INTERVAL_MS = 50;
+    private static final long MAX_POLL_INTERVAL_MS = 500;
+    private static final Duration FLEXIBLE_POLLING = Duration.ofSeconds(1);
 
     @SafeVarargs
     private static Wait<WebDriver> getFlexibleWait(LocatorModel locatorModel, int sec, Class<? extends Throwable>... exceptionClasses) {
         WebDriver driver = DriverManager.getDriverInstance(locatorModel.getLocatorPlatform());
-        return fluentWaitMap.compute(driver, (key, wait) -> {
-            if (wait == null || sec != DEFAULT_WAIT_SECONDS) {
-                wait = new FluentWait<>(driver)
-                        .withTimeout(Duration.ofSeconds(sec))
-                        .pollingEvery(Duration.ofSeconds(1));
-            } else {
-                wait.withTimeout(Duration.ofSeconds(sec));
-            }
-            if (exceptionClasses != null) {
-                for (Class<? extends Throwable> exceptionClass : exceptionClasses) {
-                    wait = wait.ignoring(exceptionClass);
-                }
-            }
-            return wait;
-        });
+        return WaitRegistry.getWait(driver, Duration.ofSeconds(sec), FLEXIBLE_POLLING, exceptionClasses);
     }
 
     private static WebDriverWait getAdaptiveWait(LocatorModel locatorModel) {
-        if (adaptiveWait == null) {
-            adaptiveWait = new WebDriverWait(DriverManager.getDriverInstance(locatorModel.getLocatorPlatform()), Duration.ofSeconds(DEFAULT_WAIT_SECONDS));
-        }
-        return adaptiveWait;
+        return DriverManager.getSession().getAdaptiveWait(locatorModel.getLocatorPlatform(), Duration.ofSeconds(DEFAULT_WAIT_SECONDS));
+    }
+
+    static void releaseWaits(WebDriver driver) {
+        WaitRegistry.release(driver);
     }
 
     /**
      * Throws direct exception
      */
     private static ExpectedCondition<WebElement> elementPresent(LocatorModel locatorModel) {
-        return ExpectedConditions.presenceOfElementLocated(getLocator(locatorModel.getLocatorType(), locatorModel.getLocatorValue()));
+        return ExpectedConditions.presenceOfElementLocated(locatorModel.getLocator());
     }
 
     /**
@@ -77,75 +71,255 @@ public class WaitManager extends ElementHandler {
      * To verify respective element state with web driver wait using static wait in seconds
      */
     public static boolean isElement(ElementState elementState, LocatorModel locatorModel) {
-        log.info("Verifying '{}' locator to be: {}", locatorModel.getLocatorName() ,elementState);
-        boolean state = false;
+        log.debug("Verifying '{}' locator to be: {}", locatorModel.getLocatorName() ,elementState);
+        boolean state;
         try {
-            switch (elementState) {
-                case Present:
-                    state = getAdaptiveWait(locatorModel).until(elementPresent(locatorModel)).isDisplayed();
-                    break;
-                case NotPresent:
-                    state = getAdaptiveWait(locatorModel).until(elementNotPresent(locatorModel));
-                    break;
-                case Visible:
-                    state = getAdaptiveWait(locatorModel).until(elementVisible(locatorModel)).isDisplayed();
-                    break;
-                case Invisible:
-                    state = getAdaptiveWait(locatorModel).until(elementInvisible(locatorModel));
-                    break;
-                case Enabled:
-                case Clickable:
-                    state = getAdaptiveWait(locatorModel).until(elementClickable(locatorModel)).isEnabled();
-                    break;
-                case Disabled:
-                    state = !getAdaptiveWait(locatorModel).until(elementClickable(locatorModel)).isEnabled();
-                    break;
-            }
+            state = verifyElement(elementState, locatorModel);
         } catch (Exception e) {
-            state = stepDown(e, locatorModel, elementState);
+            state = recoverState(e, elementState, locatorModel, () -> verifyElement(elementState, locatorModel));
         }
-        log.info("{} locator verification done!", locatorModel.getLocatorName());
+        log.debug("{} locator verification done!", locatorModel.getLocatorName());
         return state;
     }
 
+    private static boolean verifyElement(ElementState elementState, LocatorModel locatorModel) {
+        switch (elementState) {
+            case Present:
+                return getAdaptiveWait(locatorModel).until(elementPresent(locatorModel)).isDisplayed();
+            case NotPresent:
+                return getAdaptiveWait(locatorModel).until(elementNotPresent(locatorModel));
+            case Visible:
+                return getAdaptiveWait(locatorModel).until(elementVisible(locatorModel)) != null;
+            case Invisible:
+                return getAdaptiveWait(locatorModel).until(elementInvisible(locatorModel));
+            case Enabled:
+            case Clickable:
+                return getAdaptiveWait(locatorModel).until(elementClickable(locatorModel)) != null;
+            case Disabled:
+                return !getAdaptiveWait(locatorModel).until(elementClickable(locatorModel)).isEnabled();
+        }
+        return false;
+    }
+
+    /**
+     * A missing element satisfies NotPresent/Invisible. A cached handle which died in a re-render on the same page is
+     * resolved again once before stepping down.
+     */
+    private static boolean recoverState(Exception e, ElementState elementState, LocatorModel locatorModel, BooleanSupplier verification) {
+        if (isAbsenceExpected(e, elementState))
+            return true;
+        if (!isStale(e))
+            return stepDown(e, locatorModel, elementState);
+        log.debug("{} cached element went stale, resolving it again", locatorModel.getLocatorName());
+        removeCacheLocator(locatorModel);
+        try {
+            return verification.getAsBoolean();
+        } catch (Exception retry) {
+            return isAbsenceExpected(retry, elementState) || stepDown(retry, locatorModel, elementState);
+        }
+    }
+
+    /**
+     * Waits for the element state like isElement and returns the element the wait resolved, so the caller acts on
+     * the same handle instead of resolving it again. Returns null when the state is not reached.
+     */
+    static WebElement getReadyElement(ElementState elementState, LocatorModel locatorModel) {
+        if (elementState == ElementState.NotPresent || elementState == ElementState.Invisible || elementState == ElementState.Disabled)
+            throw new IllegalArgumentException(elementState + " state has no element to interact with");
+        log.debug("Resolving '{}' locator to be: {}", locatorModel.getLocatorName(), elementState);
+        try {
+            return waitForReadyElement(elementState, locatorModel);
+        } catch (Exception e) {
+            if (!isStale(e))
+                return stepDown(e, locatorModel, elementState) ? getElement(locatorModel, elementState) : null;
+        }
+        // The cached handle died in a re-render on the same page, find the element again once before stepping down
+        log.debug("{} cached element went stale, resolving it again", locatorModel.getLocatorName());
+        removeCacheLocator(locatorModel);
+        try {
+            return waitForReadyElement(elementState, locatorModel);
+        } catch (Exception e) {
+            return stepDown(e, locatorModel, elementState) ? getElement(locatorModel, elementState) : null;
+        }
+    }
+
+    private static WebElement waitForReadyElement(ElementState elementState, LocatorModel locatorModel) {
+        switch (elementState) {
+            case Present:
+                WebElement element = getAdaptiveWait(locatorModel).until(elementPresent(locatorModel));
+                return element.isDisplayed() ? element : null;
+            case Visible:
+                return getAdaptiveWait(locatorModel).until(elementVisible(locatorModel));
+            default:
+                return getAdaptiveWait(locatorModel).until(elementClickable(locatorModel));
+        }
+    }
+
+    private static boolean isStale(Exception e) {
+        return e instanceof StaleElementReferenceException || e.getCause() instanceof StaleElementReferenceException;
+    }
+
     /**
      * To verify respective element state with fluent wait using dynamic wait in seconds
      */
     public static boolean isElement(ElementState elementState, LocatorModel locatorModel, int sec) {
-        log.info("Verifying '{}' locator to be: {}", locatorModel.getLocatorName() ,elementState);
-        boolean state = false;
+        log.debug("Verifying '{}' locator to be: {}", locatorModel.getLocatorName() ,elementState);
+        boolean state;
         try {
-            switch (elementState) {
-                case Present:
-                    state = getFlexibleWait(locatorModel, sec, NoSuchElementException.class)
-                            .until(elementPresent(locatorModel)).isDisplayed();
-                    break;
-                case NotPresent:
-                    state = getFlexibleWait(locatorModel, sec, (Class<? extends Throwable>) null)
-                            .until(elementNotPresent(locatorModel));
-                    break;
-                case Visible:
-                    state = getFlexibleWait(locatorModel, sec, StaleElementReferenceException.class)
-                            .until(elementVisible(locatorModel)).isDisplayed();
-                    break;
-                case Invisible:
-                    state = getFlexibleWait(locatorModel, sec, (Class<? extends Throwable>) null)
-                            .until(elementInvisible(locatorModel));
-                    break;
-                case Enabled:
-                case Clickable:
-                    state = getFlexibleWait(locatorModel, sec, ElementNotInteractableException.class)
-                            .until(elementClickable(locatorModel)).isEnabled();
-                    break;
-                case Disabled:
-                    state = !getFlexibleWait(locatorModel, sec, ElementNotInteractableException.class)
-                            .until(elementClickable(locatorModel)).isEnabled();
-                    break;
-            }
+            state = verifyElement(elementState, locatorModel, sec);
         } catch (Exception e) {
-            state = stepDown(e, locatorModel, elementState);
+            state = recoverState(e, elementState, locatorModel, () -> verifyElement(elementState, locatorModel, sec));
         }
-        log.info("{} locator verification done!", locatorModel.getLocatorName());
+        log.debug("{} locator verification done!", locatorModel.getLocatorName());
         return state;
     }
-}
\ No newline at end of file
+
+    private static boolean verifyElement(ElementState elementState, LocatorModel locatorModel, int sec) {
+        switch (elementState) {
+            case Present:
+                return getFlexibleWait(locatorModel, sec, NoSuchElementException.class)
+                        .until(elementPresent(locatorModel)).isDisplayed();
+            case NotPresent:
+                return getFlexibleWait(locatorModel, sec, (Class<? extends Throwable>) null)
+                        .until(elementNotPresent(locatorModel));
+            case Visible:
+                return getFlexibleWait(locatorModel, sec, StaleElementReferenceException.class)
+                        .until(elementVisible(locatorModel)) != null;
+            case Invisible:
+                return getFlexibleWait(locatorModel, sec, (Class<? extends Throwable>) null)
+                        .until(elementInvisible(locatorModel));
+            case Enabled:
+            case Clickable:
+                return getFlexibleWait(locatorModel, sec, ElementNotInteractableException.class)
+                        .until(elementClickable(locatorModel)) != null;
+            case Disabled:
+                return !getFlexibleWait(locatorModel, sec, ElementNotInteractableException.class)
+                        .until(elementClickable(locatorModel)).isEnabled();
+        }
+        return false;
+    }
+
+    /**
+     * Resolves presence, visibility, enabled state and rect of all locators, WEB locators in one executeScript
+     * round trip and native platform locators element by element. Found elements are cached for later interactions.
+     */
+    public static Map<String, ElementStatus> getElementStatuses(List<LocatorModel> locatorModels) {
+        if (log.isDebugEnabled())
+            log.debug("Resolving status of {} locators", locatorModels.size());
+        Map<String, ElementStatus> statuses = new LinkedHashMap<>();
+        List<LocatorModel> scriptLocators = new ArrayList<>();
+        for (LocatorModel locatorModel : locatorModels) {
+            statuses.put(locatorModel.getLocatorName(), null);
+            if (DomScripts.isResolvable(locatorModel))
+                scriptLocators.add(locatorModel);
+            else
+                statuses.put(locatorModel.getLocatorName(), getElementStatus(locatorModel));
+        }
+        if (!scriptLocators.isEmpty()) {
+            List<List<String>> arguments = new ArrayList<>(scriptLocators.size());
+            for (LocatorModel locatorModel : scriptLocators) {
+                arguments.add(List.of(locatorModel.getLocatorType().name(), locatorModel.getLocatorValue()));
+            }
+            List<?> results = (List<?>) DriverManager.getDriverInstance(LocatorPlatform.WEB).executeScript(DomScripts.ELEMENT_STATUS_SCRIPT, arguments);
+            for (int i = 0; i < scriptLocators.size(); i++) {
+                LocatorModel locatorModel = scriptLocators.get(i);
+                statuses.put(locatorModel.getLocatorName(), toElementStatus(locatorModel, (Map<?, ?>) results.get(i)));
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * True when every locator is in the element state, resolved with getElementStatuses
+     */
+    public static boolean areElements(ElementState elementState, List<LocatorModel> locatorModels) {
+        for (ElementStatus status : getElementStatuses(locatorModels).values()) {
+            if (!status.matches(elementState)) {
+                log.debug("{} locator is not {}", status.getLocatorName(), elementState);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ElementStatus toElementStatus(LocatorModel locatorModel, Map<?, ?> result) {
+        if (!Boolean.TRUE.equals(result.get("present")))
+            return ElementStatus.absent(locatorModel.getLocatorName());
+        Object element = result.get("element");
+        if (element instanceof WebElement)
+            cacheElement(locatorModel, (WebElement) element);
+        Rectangle rect = new Rectangle(toInt(result.get("x")), toInt(result.get("y")), toInt(result.get("height")), toInt(result.get("width")));
+        return new ElementStatus(locatorModel.getLocatorName(), true, Boolean.TRUE.equals(result.get("visible")),
+                Boolean.TRUE.equals(result.get("enabled")), rect);
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number ? (int) Math.round(((Number) value).doubleValue()) : 0;
+    }
+
+    private static ElementStatus getElementStatus(LocatorModel locatorModel) {
+        List<WebElement> elements = DriverManager.getDriverInstance(locatorModel.getLocatorPlatform())
+                .findElements(locatorModel.getLocator());
+        if (elements.isEmpty())
+            return ElementStatus.absent(locatorModel.getLocatorName());
+        WebElement element = elements.get(0);
+        try {
+            ElementStatus status = new ElementStatus(locatorModel.getLocatorName(), true, element.isDisplayed(), element.isEnabled(), element.getRect());
+            cacheElement(locatorModel, element);
+            return status;
+        } catch (StaleElementReferenceException e) {
+            return ElementStatus.absent(locatorModel.getLocatorName());
+        }
+    }
+
+    /**
+     * Waits for the element state, on WEB by observing DOM mutations in the browser so it returns as soon as the
+     * state is reached, on native platforms by polling with growing intervals
+     */
+    public static boolean awaitElement(ElementState elementState, LocatorModel locatorModel, int sec) {
+        log.debug("Awaiting '{}' locator to be: {}", locatorModel.getLocatorName(), elementState);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sec);
+        if (DomScripts.isResolvable(locatorModel)) {
+            try {
+                return awaitInBrowser(elementState, locatorModel, sec);
+            } catch (WebDriverException e) {
+                // Navigation unloads the document and aborts the script, finish the wait by polling
+                log.debug("Event driven wait for {} interrupted: {}", locatorModel.getLocatorName(), e.getMessage());
+            }
+        }
+        return awaitByPolling(elementState, locatorModel, deadline);
+    }
+
+    private static boolean awaitInBrowser(ElementState elementState, LocatorModel locatorModel, int sec) {
+        long timeoutMs = TimeUnit.SECONDS.toMillis(sec);
+        DriverSession session = DriverManager.getSession();
+        session.ensureScriptTimeout(Duration.ofMillis(timeoutMs + 1000));
+        Object result = session.getDriver(LocatorPlatform.WEB).executeAsyncScript(DomScripts.WAIT_FOR_STATE_SCRIPT,
+                locatorModel.getLocatorType().name(), locatorModel.getLocatorValue(), elementState.name(), timeoutMs);
+        if (!(result instanceof Map))
+            return false;
+        Map<?, ?> outcome = (Map<?, ?>) result;
+        Object element = outcome.get("element");
+        if (element instanceof WebElement)
+            cacheElement(locatorModel, (WebElement) element);
+        return Boolean.TRUE.equals(outcome.get("matched"));
+    }
+
+    private static boolean awaitByPolling(ElementState elementState, LocatorModel locatorModel, long deadline) {
+        long interval = MIN_POLL_INTERVAL_MS;
+        while (true) {
+            if (getElementStatus(locatorModel).matches(elementState))
+                return true;
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0)
+                return false;
+            try {
+                Thread.sleep(Math.min(interval, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            interval = Math.min(interval * 2, MAX_POLL_INTERVAL_MS);
+        }
+    }
+}
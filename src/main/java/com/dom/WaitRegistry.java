@@ -0,0 +1,83 @@
+package com.dom;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Wait;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FluentWaits built once per driver, timeout, polling interval and ignored exception set and never mutated afterwards
+ */
+public class WaitRegistry {
+    private static final ConcurrentHashMap<WaitKey, Wait<WebDriver>> waits = new ConcurrentHashMap<>();
+    private static final AtomicLong creations = new AtomicLong();
+
+    @SafeVarargs
+    static Wait<WebDriver> getWait(WebDriver driver, Duration timeout, Duration polling, Class<? extends Throwable>... exceptionClasses) {
+        Set<Class<? extends Throwable>> ignored = new HashSet<>();
+        if (exceptionClasses != null) {
+            for (Class<? extends Throwable> exceptionClass : exceptionClasses) {
+                if (exceptionClass != null)
+                    ignored.add(exceptionClass);
+            }
+        }
+        return waits.computeIfAbsent(new WaitKey(driver, timeout, polling, Set.copyOf(ignored)), key -> {
+            creations.incrementAndGet();
+            return new FluentWait<>(driver)
+                    .withTimeout(timeout)
+                    .pollingEvery(polling)
+                    .ignoreAll(key.ignored);
+        });
+    }
+
+    static void release(WebDriver driver) {
+        waits.keySet().removeIf(key -> key.driver == driver);
+    }
+
+    /**
+     * Number of waits built so far, stays flat after warm-up when waits are reused
+     */
+    public static long getCreationCount() {
+        return creations.get();
+    }
+
+    public static int getSize() {
+        return waits.size();
+    }
+
+    private static final class WaitKey {
+        private final WebDriver driver;
+        private final Duration timeout;
+        private final Duration polling;
+        private final Set<Class<? extends Throwable>> ignored;
+        private final int hashCode;
+
+        private WaitKey(WebDriver driver, Duration timeout, Duration polling, Set<Class<? extends Throwable>> ignored) {
+            this.driver = driver;
+            this.timeout = timeout;
+            this.polling = polling;
+            this.ignored = ignored;
+            this.hashCode = Objects.hash(System.identityHashCode(driver), timeout, polling, ignored);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof WaitKey))
+                return false;
+            WaitKey that = (WaitKey) o;
+            return driver == that.driver && timeout.equals(that.timeout) && polling.equals(that.polling) && ignored.equals(that.ignored);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
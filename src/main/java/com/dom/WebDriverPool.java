@@ -0,0 +1,249 @@
+package com.dom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool of browsers launched ahead of time in the background, borrowed drivers are reset and reused when returned
+ */
+public class WebDriverPool {
+    private static final Logger log = LogManager.getLogger(WebDriverPool.class.getName());
+    private static final int MAX_LAUNCH_ATTEMPTS = 5;
+    private static final long MIN_LAUNCH_BACKOFF_MS = 1000;
+    private static final long MAX_LAUNCH_BACKOFF_MS = 30000;
+    private static final long BORROW_POLL_MS = 250;
+    private final int size;
+    private final Supplier<WebDriver> driverFactory;
+    private final BlockingQueue<WebDriver> idleDrivers = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+    private final ExecutorService launcher;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder borrowed = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicInteger pendingLaunches = new AtomicInteger();
+    private volatile Exception launchFailure;
+    private volatile boolean closed;
+
+    public WebDriverPool(int size, Supplier<WebDriver> driverFactory) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be a positive value");
+        }
+        this.size = size;
+        this.driverFactory = driverFactory;
+        AtomicInteger count = new AtomicInteger();
+        this.launcher = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-pool-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Launches all browsers in parallel without waiting for them to come up
+     */
+    public void start() {
+        log.info("Launching {} pooled WebDrivers", size);
+        for (int i = 0; i < size; i++) {
+            scheduleLaunch();
+        }
+    }
+
+    private void scheduleLaunch() {
+        pendingLaunches.incrementAndGet();
+        try {
+            launcher.execute(this::launch);
+        } catch (RejectedExecutionException e) {
+            pendingLaunches.decrementAndGet();
+        }
+    }
+
+    /**
+     * Launches one driver, retrying failed launches with growing backoff so a transient failure doesn't shrink the pool
+     */
+    private void launch() {
+        try {
+            long backoff = MIN_LAUNCH_BACKOFF_MS;
+            for (int attempt = 1; !closed; attempt++) {
+                try {
+                    long start = System.nanoTime();
+                    WebDriver driver = driverFactory.get();
+                    useCounts.put(driver, 0);
+                    created.increment();
+                    launchFailure = null;
+                    if (closed) {
+                        quit(driver);
+                        return;
+                    }
+                    idleDrivers.offer(driver);
+                    // close() may have drained the queue between the check above and the offer
+                    if (closed && idleDrivers.remove(driver)) {
+                        quit(driver);
+                        return;
+                    }
+                    log.info("Pooled WebDriver launched in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return;
+                } catch (Exception e) {
+                    if (attempt >= MAX_LAUNCH_ATTEMPTS) {
+                        log.error("Giving up launching pooled WebDriver after {} attempts: {}", attempt, e.getMessage(), e);
+                        launchFailure = e;
+                        return;
+                    }
+                    log.warn("Error launching pooled WebDriver, retrying in {} ms: {}", backoff, e.getMessage());
+                    Thread.sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_LAUNCH_BACKOFF_MS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pendingLaunches.decrementAndGet();
+        }
+    }
+
+    /**
+     * True once launches gave up and no driver is alive or on its way, so waiting borrowers can never be served
+     */
+    private boolean isExhausted() {
+        return launchFailure != null && pendingLaunches.get() == 0 && useCounts.isEmpty();
+    }
+
+    public WebDriver borrow(Duration timeout) {
+        if (closed)
+            throw new IllegalStateException("WebDriver pool is closed");
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        while (true) {
+            WebDriver driver;
+            long remaining = deadline - System.nanoTime();
+            try {
+                driver = idleDrivers.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(BORROW_POLL_MS)), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for pooled WebDriver", e);
+            }
+            if (driver == null) {
+                if (isExhausted())
+                    throw new WebDriverException("Pooled WebDrivers could not be launched: " + launchFailure.getMessage(), launchFailure);
+                if (System.nanoTime() >= deadline)
+                    throw new WebDriverException("No pooled WebDriver available within " + timeout.toMillis() + " ms");
+                continue;
+            }
+            if (isHealthy(driver)) {
+                long elapsed = System.nanoTime() - start;
+                borrowed.increment();
+                waitNanos.add(elapsed);
+                maxWaitNanos.accumulateAndGet(elapsed, Math::max);
+                if (useCounts.merge(driver, 1, Integer::sum) > 1)
+                    reused.increment();
+                if (log.isDebugEnabled())
+                    log.debug("Borrowed pooled WebDriver after {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+                return driver;
+            }
+            evict(driver);
+        }
+    }
+
+    /**
+     * Resets the driver and puts it back for the next borrower, a driver which fails to reset is replaced
+     */
+    public void release(WebDriver driver) {
+        if (!owns(driver)) {
+            driver.quit();
+            return;
+        }
+        if (closed) {
+            quit(driver);
+            return;
+        }
+        try {
+            reset(driver);
+            idleDrivers.offer(driver);
+            if (closed && idleDrivers.remove(driver))
+                quit(driver);
+        } catch (Exception e) {
+            log.warn("Pooled WebDriver failed to reset: {}", e.getMessage());
+            evict(driver);
+        }
+    }
+
+    public boolean owns(WebDriver driver) {
+        return useCounts.containsKey(driver);
+    }
+
+    private void reset(WebDriver driver) {
+        String handle = driver.getWindowHandle();
+        for (String other : driver.getWindowHandles()) {
+            if (!other.equals(handle)) {
+                driver.switchTo().window(other).close();
+            }
+        }
+        driver.switchTo().window(handle);
+        driver.manage().deleteAllCookies();
+        try {
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (WebDriverException e) {
+            log.debug("Storage not accessible on current page: {}", e.getMessage());
+        }
+        driver.get("about:blank");
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            log.warn("Pooled WebDriver failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void evict(WebDriver driver) {
+        // Schedule the replacement first so borrowers never see the pool as empty with nothing launching
+        if (!closed)
+            scheduleLaunch();
+        quit(driver);
+        evicted.increment();
+    }
+
+    private void quit(WebDriver driver) {
+        useCounts.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.debug("Error quitting pooled WebDriver: {}", e.getMessage());
+        }
+    }
+
+    public DriverPoolMetrics getMetrics() {
+        long count = borrowed.sum();
+        return new DriverPoolMetrics(size, idleDrivers.size(), created.sum(), evicted.sum(), count, reused.sum(),
+                count == 0 ? 0 : waitNanos.sum() / (double) count / 1_000_000,
+                maxWaitNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * Quits idle drivers and every driver returned afterwards
+     */
+    public void close() {
+        closed = true;
+        launcher.shutdownNow();
+        log.info("Closing WebDriver pool: {}", getMetrics());
+        WebDriver driver;
+        while ((driver = idleDrivers.poll()) != null) {
+            quit(driver);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.utils;
+
+public class AppiumServerMetrics {
+    private final long starts;
+    private final long reuses;
+    private final long stops;
+    private final double averageStartMillis;
+    private final double lastStartMillis;
+    private final double averageStopMillis;
+    private final double lastStopMillis;
+
+    AppiumServerMetrics(long starts, long reuses, long stops, double averageStartMillis, double lastStartMillis,
+                        double averageStopMillis, double lastStopMillis) {
+        this.starts = starts;
+        this.reuses = reuses;
+        this.stops = stops;
+        this.averageStartMillis = averageStartMillis;
+        this.lastStartMillis = lastStartMillis;
+        this.averageStopMillis = averageStopMillis;
+        this.lastStopMillis = lastStopMillis;
+    }
+
+    public long getStarts() {
+        return starts;
+    }
+
+    /**
+     * Server requests answered by an already running healthy server
+     */
+    public long getReuses() {
+        return reuses;
+    }
+
+    public long getStops() {
+        return stops;
+    }
+
+    public double getAverageStartMillis() {
+        return averageStartMillis;
+    }
+
+    public double getLastStartMillis() {
+        return lastStartMillis;
+    }
+
+    public double getAverageStopMillis() {
+        return averageStopMillis;
+    }
+
+    public double getLastStopMillis() {
+        return lastStopMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AppiumServerMetrics{starts=%d, reuses=%d, stops=%d, avgStartMs=%.1f, lastStartMs=%.1f, avgStopMs=%.1f, lastStopMs=%.1f}",
+                starts, reuses, stops, averageStartMillis, lastStartMillis, averageStopMillis, lastStopMillis);
+    }
+}
@@ -5,85 +5,237 @@ import io.appium.java_client.service.local.AppiumServiceBuilder;
 import io.appium.java_client.service.local.flags.GeneralServerFlag;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.net.UrlChecker;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.ServerSocket;
 import java.net.URL;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class AppiumUtils {
     private static final Logger log = LogManager.getLogger(AppiumUtils.class);
     private static final int DEFAULT_APPIUM_PORT = 4723;
-    private static final int MAX_STOP_ATTEMPTS = 5;
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(5);
+    private static final long MIN_PROBE_INTERVAL_MS = 25;
+    private static final long MAX_PROBE_INTERVAL_MS = 500;
+    private static final int PROBE_TIMEOUT_MS = 1000;
+    private static final LongAdder starts = new LongAdder();
+    private static final LongAdder reuses = new LongAdder();
+    private static final LongAdder stops = new LongAdder();
+    private static final LongAdder startNanos = new LongAdder();
+    private static final LongAdder stopNanos = new LongAdder();
+    private static final AtomicLong lastStartNanos = new AtomicLong();
+    private static final AtomicLong lastStopNanos = new AtomicLong();
+    private static volatile Duration startupTimeout = Duration.ofMinutes(5);
     private static AppiumDriverLocalService service;
 
-    public static AppiumDriverLocalService startServer() {
+    /**
+     * Starts the Appium server on the default port, a healthy server started earlier is reused as is and an
+     * unhealthy one is stopped first. Throws IllegalStateException when the server does not come up.
+     */
+    public static synchronized AppiumDriverLocalService startServer() {
+        if (isOwnServerHealthy()) {
+            reuses.increment();
+            log.debug("Reusing Appium server at: {}", service.getUrl());
+            return service;
+        }
+        if (service != null && service.isRunning()) {
+            // Still holding the port but not answering, replace it instead of leaking the process
+            log.warn("Appium server at {} is not healthy, restarting it", service.getUrl());
+            stopServer();
+        }
         log.info("Starting Appium server");
-        service = configureAppiumService();
+        long start = System.nanoTime();
+        service = configureAppiumService(DEFAULT_APPIUM_PORT);
         try {
             service.start();
-            log.info("Appium server started at: {}", service.getUrl());
-            waitForServerToStart(service);
+            waitForServerToStart(service.getUrl());
+            recordStart(start);
+            log.info("Appium server started at: {} in {} ms", service.getUrl(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         } catch (Exception e) {
             log.error("Failed to start Appium server: {}", e.getMessage());
             stopServer();
+            throw new IllegalStateException("Appium server could not be started on port " + DEFAULT_APPIUM_PORT, e);
         }
         return service;
     }
 
-    private static AppiumDriverLocalService configureAppiumService() {
+    /**
+     * Url of a healthy Appium server on the default port. Reuses the server started by this JVM or one already
+     * listening on the port before starting a new one.
+     */
+    public static synchronized URL getServerUrl() {
+        if (!isOwnServerHealthy() && isServerRunning(DEFAULT_APPIUM_PORT)) {
+            URL url = getLocalUrl(DEFAULT_APPIUM_PORT);
+            if (isServerHealthy(url)) {
+                reuses.increment();
+                log.info("Reusing Appium server already running at: {}", url);
+                return url;
+            }
+        }
+        return startServer().getUrl();
+    }
+
+    private static boolean isOwnServerHealthy() {
+        return service != null && service.isRunning() && isServerHealthy(service.getUrl());
+    }
+
+    private static URL getLocalUrl(int port) {
+        try {
+            return new URL("http://127.0.0.1:" + port + "/");
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Ceiling for the readiness probe of a starting server
+     */
+    public static void setStartupTimeout(Duration timeout) {
+        startupTimeout = timeout;
+    }
+
+    public static AppiumServerMetrics getServerMetrics() {
+        long startCount = starts.sum();
+        long stopCount = stops.sum();
+        return new AppiumServerMetrics(startCount, reuses.sum(), stopCount,
+                startCount == 0 ? 0 : startNanos.sum() / (double) startCount / 1_000_000, lastStartNanos.get() / 1_000_000.0,
+                stopCount == 0 ? 0 : stopNanos.sum() / (double) stopCount / 1_000_000, lastStopNanos.get() / 1_000_000.0);
+    }
+
+    private static void recordStart(long start) {
+        long elapsed = System.nanoTime() - start;
+        starts.increment();
+        startNanos.add(elapsed);
+        lastStartNanos.set(elapsed);
+    }
+
+    /**
+     * Starts an independent Appium server on the port, e.g. one per device, and waits until it accepts requests
+     */
+    public static AppiumDriverLocalService startServer(int port) {
+        log.info("Starting Appium server on port {}", port);
+        long start = System.nanoTime();
+        AppiumDriverLocalService portService = configureAppiumService(port);
+        try {
+            portService.start();
+            waitForServerToStart(portService.getUrl());
+            recordStart(start);
+            return portService;
+        } catch (Exception e) {
+            log.error("Failed to start Appium server on port {}: {}", port, e.getMessage());
+            portService.stop();
+            throw new IllegalStateException("Appium server could not be started on port " + port, e);
+        }
+    }
+
+    /**
+     * Port the OS reports as free at the time of the call
+     */
+    public static int getFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("No free port available", e);
+        }
+    }
+
+    private static AppiumDriverLocalService configureAppiumService(int port) {
         Map<String, String> env = new HashMap<>(System.getenv());
         env.put("PATH", "/usr/local/bin:" + env.get("PATH"));
 
         DesiredCapabilities cap = new DesiredCapabilities();
         cap.setCapability("noReset", "false");
 
+        String logFile = port == DEFAULT_APPIUM_PORT ? "Appium_Server_Log.txt" : "Appium_Server_Log_" + port + ".txt";
         AppiumServiceBuilder builder = new AppiumServiceBuilder()
                 .withIPAddress("127.0.0.1")
-                .usingPort(DEFAULT_APPIUM_PORT)
+                .usingPort(port)
                 .withCapabilities(cap)
                 .withEnvironment(env)
                 .withArgument(GeneralServerFlag.SESSION_OVERRIDE)
                 .withArgument(GeneralServerFlag.LOCAL_TIMEZONE)
                 .withArgument(GeneralServerFlag.LOG_LEVEL, "error")
-                .withLogFile(new File("QualityInsights/AppiumServerLogs/Appium_Server_Log.txt"));
+                .withLogFile(new File("QualityInsights/AppiumServerLogs/" + logFile));
 
         return AppiumDriverLocalService.buildService(builder);
     }
 
-    private static void waitForServerToStart(AppiumDriverLocalService service) throws MalformedURLException, UrlChecker.TimeoutException {
+    /**
+     * Probes the status endpoint with short, growing intervals until the server answers or the startup timeout passes
+     */
+    private static void waitForServerToStart(URL url) {
         log.info("Waiting for Appium server to start");
-        URL status = new URL(service.getUrl() + "/sessions");
-        new UrlChecker().waitUntilAvailable(5, TimeUnit.MINUTES, status);
+        long deadline = System.nanoTime() + startupTimeout.toNanos();
+        long interval = MIN_PROBE_INTERVAL_MS;
+        while (!isServerHealthy(url)) {
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval) > deadline)
+                throw new IllegalStateException("Appium server at " + url + " not ready within " + startupTimeout.toMillis() + " ms");
+            sleep(interval);
+            interval = Math.min(interval * 2, MAX_PROBE_INTERVAL_MS);
+        }
         log.info("Appium server is up and running");
     }
 
-    public static void stopServer() {
+    /**
+     * True when the server at the url answers its status endpoint
+     */
+    public static boolean isServerHealthy(URL url) {
+        HttpURLConnection connection = null;
+        try {
+            String base = url.toString();
+            connection = (HttpURLConnection) new URL(base.endsWith("/") ? base + "status" : base + "/status").openConnection();
+            connection.setConnectTimeout(PROBE_TIMEOUT_MS);
+            connection.setReadTimeout(PROBE_TIMEOUT_MS);
+            return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null)
+                connection.disconnect();
+        }
+    }
+
+    public static synchronized void stopServer() {
         if (service != null && service.isRunning()) {
             log.info("Stopping Appium server");
+            long start = System.nanoTime();
             service.stop();
-            int attempts = 0;
-            while (service.isRunning() && attempts < MAX_STOP_ATTEMPTS) {
-                try {
-                    TimeUnit.SECONDS.sleep(1);
-                    attempts++;
-                } catch (InterruptedException e) {
-                    log.error("Thread interrupted while waiting for Appium server to stop: {}", e.getMessage());
-                    Thread.currentThread().interrupt();
-                }
+            long deadline = start + STOP_TIMEOUT.toNanos();
+            long interval = MIN_PROBE_INTERVAL_MS;
+            while (service.isRunning() && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval) <= deadline) {
+                sleep(interval);
+                interval = Math.min(interval * 2, MAX_PROBE_INTERVAL_MS);
             }
             if (service.isRunning()) {
-                log.warn("Appium server could not be stopped after {} attempts", MAX_STOP_ATTEMPTS);
+                log.warn("Appium server could not be stopped within {} ms", STOP_TIMEOUT.toMillis());
             } else {
-                log.info("Appium server stopped");
+                long elapsed = System.nanoTime() - start;
+                stops.increment();
+                stopNanos.add(elapsed);
+                lastStopNanos.set(elapsed);
+                log.info("Appium server stopped in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
             }
         }
     }
 
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Appium server", e);
+        }
+    }
+
     public static boolean isServerRunning(int port) {
         log.info("Checking if Appium server is running");
         try (ServerSocket ignored = new ServerSocket(port)) {
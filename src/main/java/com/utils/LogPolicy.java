@@ -0,0 +1,90 @@
+package com.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Central logging switches for the kit, hot path messages are logged at DEBUG so WARN/INFO keeps them free
+ */
+public class LogPolicy {
+    private static final int DEFAULT_MAX_BODY_LENGTH = 2048;
+    private static volatile int maxBodyLength = DEFAULT_MAX_BODY_LENGTH;
+    private static volatile int bodySampleRate = 1;
+    private static final AtomicLong bodyCounter = new AtomicLong();
+
+    public enum Subsystem {
+        DOM("com.dom"), API("com.api"), DATABASE("com.database"), UTILS("com.utils");
+
+        private final String packageName;
+
+        Subsystem(String packageName) {
+            this.packageName = packageName;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+    }
+
+    /**
+     * Sets verbosity of every logger in the subsystem package
+     */
+    public static void setLevel(Subsystem subsystem, Level level) {
+        Configurator.setLevel(subsystem.getPackageName(), level);
+    }
+
+    public static void setLevel(Level level) {
+        for (Subsystem subsystem : Subsystem.values()) {
+            setLevel(subsystem, level);
+        }
+    }
+
+    /**
+     * Bodies longer than this are cut when logged, 0 logs only the body length
+     */
+    public static void setMaxBodyLength(int maxBodyLength) {
+        if (maxBodyLength < 0) {
+            throw new IllegalArgumentException("maxBodyLength must be a non-negative value");
+        }
+        LogPolicy.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * Logs one in every sampleRate bodies
+     */
+    public static void setBodySampleRate(int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("sampleRate must be a positive value");
+        }
+        LogPolicy.bodySampleRate = sampleRate;
+    }
+
+    /**
+     * True when the logger would write a DEBUG body and this body falls into the sample
+     */
+    public static boolean isBodyLogged(Logger log) {
+        if (!log.isDebugEnabled())
+            return false;
+        int sampleRate = bodySampleRate;
+        return sampleRate == 1 || bodyCounter.getAndIncrement() % sampleRate == 0;
+    }
+
+    public static String truncate(String body) {
+        if (body == null)
+            return null;
+        if (body.length() <= maxBodyLength)
+            return body;
+        return body.substring(0, maxBodyLength) + "... (" + body.length() + " chars)";
+    }
+
+    public static String truncate(byte[] body) {
+        if (body == null)
+            return null;
+        int length = Math.min(body.length, maxBodyLength);
+        String text = new String(body, 0, length, StandardCharsets.UTF_8);
+        return body.length <= maxBodyLength ? text : text + "... (" + body.length + " bytes)";
+    }
+}
@@ -0,0 +1,41 @@
+package com.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ThreadUtils {
+    private static final Logger log = LogManager.getLogger(ThreadUtils.class);
+
+    /**
+     * Virtual thread per task executor when the runtime supports it (Java 21+), otherwise a fixed pool of daemon threads
+     */
+    public static ExecutorService newTaskExecutor(String threadPrefix, int platformThreads) {
+        if (isVirtualThreadSupported()) {
+            try {
+                ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("{} executor initialized with virtual threads", threadPrefix);
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual thread executor unavailable for {}: {}", threadPrefix, e.getMessage());
+            }
+        }
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(platformThreads, runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("{} executor initialized with {} platform threads", threadPrefix, platformThreads);
+        return executor;
+    }
+
+    /**
+     * Virtual threads are final from Java 21, the Java 19/20 preview API is not used
+     */
+    public static boolean isVirtualThreadSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+}